@@ -0,0 +1,84 @@
+package com.conversor.cache;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link SharedRateStore} embutido, restrito à JVM. Usado em instância única e nos testes, onde
+ * vários {@link TwoTierRateCache} podem compartilhar a mesma instância para simular um cluster.
+ */
+public class InMemorySharedRateStore implements SharedRateStore {
+    private final ConcurrentMap<String, RateSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Lease> leases = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Long>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public RateSnapshot get(String base) {
+        return snapshots.get(base);
+    }
+
+    @Override
+    public long version(String base) {
+        AtomicLong version = versions.get(base);
+        return version != null ? version.get() : 0;
+    }
+
+    @Override
+    public RateSnapshot publish(String base, Map<String, BigDecimal> rates, long fetchedAt) {
+        AtomicLong version = versions.computeIfAbsent(base, k -> new AtomicLong());
+        RateSnapshot snapshot;
+        synchronized (version) {
+            snapshot = new RateSnapshot(base, version.incrementAndGet(), fetchedAt, Map.copyOf(rates));
+            snapshots.put(base, snapshot);
+        }
+        notifyListeners(base, snapshot.getVersion());
+        return snapshot;
+    }
+
+    @Override
+    public void remove(String base) {
+        AtomicLong version = versions.computeIfAbsent(base, k -> new AtomicLong());
+        long removedVersion;
+        synchronized (version) {
+            removedVersion = version.incrementAndGet();
+            snapshots.remove(base);
+        }
+        notifyListeners(base, removedVersion);
+    }
+
+    @Override
+    public boolean tryLock(String base, String owner, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        Lease lease = leases.compute(base, (k, current) ->
+                current == null || current.expiresAt < now || current.owner.equals(owner)
+                        ? new Lease(owner, now + leaseMillis)
+                        : current);
+        return lease.owner.equals(owner);
+    }
+
+    @Override
+    public void unlock(String base, String owner) {
+        leases.computeIfPresent(base, (k, current) -> current.owner.equals(owner) ? null : current);
+    }
+
+    @Override
+    public void addInvalidationListener(BiConsumer<String, Long> listener) {
+        listeners.add(listener);
+    }
+
+    private void notifyListeners(String base, long version) {
+        for (BiConsumer<String, Long> listener : listeners) {
+            listener.accept(base, version);
+        }
+    }
+
+    private record Lease(String owner, long expiresAt) {
+    }
+}
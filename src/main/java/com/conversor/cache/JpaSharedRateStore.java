@@ -0,0 +1,107 @@
+package com.conversor.cache;
+
+import com.conversor.model.RateLease;
+import com.conversor.repository.RateLeaseRepository;
+import com.conversor.repository.RateSnapshotEntryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * {@link SharedRateStore} sobre o banco de dados compartilhado pelos nós (tabelas {@code rate_snapshot}
+ * e {@code rate_lease}). Não há notificação ativa: os nós detectam novas versões pela reconciliação
+ * periódica do {@link TwoTierRateCache}.
+ */
+@RequiredArgsConstructor
+public class JpaSharedRateStore implements SharedRateStore {
+    private static final TypeReference<Map<String, BigDecimal>> RATES_TYPE = new TypeReference<>() {};
+
+    private final RateSnapshotEntryRepository snapshotRepository;
+    private final RateLeaseRepository leaseRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public RateSnapshot get(String base) {
+        return snapshotRepository.findById(base)
+                .filter(entry -> entry.getRates() != null)
+                .map(entry -> new RateSnapshot(base, entry.getVersion(), entry.getFetchedAt(), readRates(entry.getRates())))
+                .orElse(null);
+    }
+
+    @Override
+    public long version(String base) {
+        return snapshotRepository.findVersionByBase(base).orElse(0L);
+    }
+
+    /**
+     * A versão é incrementada pelo próprio banco ({@code version = version + 1}), então publicações
+     * simultâneas, com ou sem a concessão, recebem versões distintas e crescentes.
+     */
+    @Override
+    @Transactional
+    public RateSnapshot publish(String base, Map<String, BigDecimal> rates, long fetchedAt) {
+        String json = writeRates(rates);
+        while (snapshotRepository.publish(base, fetchedAt, json) == 0) {
+            try {
+                snapshotRepository.insertFirst(base, fetchedAt, json);
+                return new RateSnapshot(base, 1, fetchedAt, Map.copyOf(rates));
+            } catch (DataIntegrityViolationException ex) {
+                // Outro nó publicou a primeira versão ao mesmo tempo; incrementa sobre ela
+            }
+        }
+        // A linha continua bloqueada por esta transação, então a versão lida é a que acabamos de gravar
+        long version = snapshotRepository.findVersionByBase(base)
+                .orElseThrow(() -> new IllegalStateException("Snapshot de " + base + " removido durante a publicação"));
+        return new RateSnapshot(base, version, fetchedAt, Map.copyOf(rates));
+    }
+
+    @Override
+    public void remove(String base) {
+        snapshotRepository.remove(base);
+    }
+
+    @Override
+    public boolean tryLock(String base, String owner, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        if (leaseRepository.acquire(base, owner, now, now + leaseMillis) == 1) {
+            return true;
+        }
+        if (leaseRepository.existsById(base)) {
+            return false;
+        }
+        try {
+            leaseRepository.saveAndFlush(new RateLease(base, owner, now + leaseMillis, null));
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            // Outro nó criou a concessão ao mesmo tempo
+            return false;
+        }
+    }
+
+    @Override
+    public void unlock(String base, String owner) {
+        leaseRepository.release(base, owner);
+    }
+
+    private Map<String, BigDecimal> readRates(String json) {
+        try {
+            return Map.copyOf(objectMapper.readValue(json, RATES_TYPE));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Snapshot de taxas inválido no cache compartilhado", ex);
+        }
+    }
+
+    private String writeRates(Map<String, BigDecimal> rates) {
+        try {
+            return objectMapper.writeValueAsString(rates);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar taxas para o cache compartilhado", ex);
+        }
+    }
+}
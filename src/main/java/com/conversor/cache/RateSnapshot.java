@@ -0,0 +1,18 @@
+package com.conversor.cache;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Tabela de taxas de uma moeda base em uma versão específica. As versões são monotônicas por moeda
+ * base e atribuídas pelo {@link SharedRateStore}, de modo que todos os nós comparam snapshots pela versão.
+ */
+@Value
+public class RateSnapshot {
+    String base;
+    long version;
+    long fetchedAt;
+    Map<String, BigDecimal> rates;
+}
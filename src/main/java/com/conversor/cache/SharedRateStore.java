@@ -0,0 +1,46 @@
+package com.conversor.cache;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Segundo nível (L2) do cache de taxas, compartilhado entre os nós do cluster.
+ */
+public interface SharedRateStore {
+
+    /**
+     * Retorna o snapshot atual da moeda base, ou {@code null} se não houver.
+     */
+    RateSnapshot get(String base);
+
+    /**
+     * Retorna a versão atual da moeda base (0 se nunca publicada). Deve ser mais barato que {@link #get}.
+     */
+    long version(String base);
+
+    /**
+     * Publica novas taxas para a moeda base com a próxima versão.
+     */
+    RateSnapshot publish(String base, Map<String, BigDecimal> rates, long fetchedAt);
+
+    /**
+     * Remove o snapshot da moeda base, incrementando a versão para que os nós descartem suas cópias.
+     */
+    void remove(String base);
+
+    /**
+     * Tenta adquirir a concessão (lease) exclusiva para atualizar a moeda base. Uma concessão expirada
+     * pode ser tomada por outro nó; o próprio dono pode renová-la.
+     */
+    boolean tryLock(String base, String owner, long leaseMillis);
+
+    void unlock(String base, String owner);
+
+    /**
+     * Registra um ouvinte de invalidação (moeda base, nova versão). Implementações sem notificação
+     * ativa, como {@link JpaSharedRateStore}, ignoram; os nós reconciliam versões periodicamente.
+     */
+    default void addInvalidationListener(BiConsumer<String, Long> listener) {
+    }
+}
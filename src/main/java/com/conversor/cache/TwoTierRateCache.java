@@ -0,0 +1,196 @@
+package com.conversor.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache de taxas em dois níveis: L1 em memória no próprio nó e L2 compartilhado ({@link SharedRateStore}).
+ *
+ * <p>Em uma falha no L1, o snapshot é lido do L2. Se o L2 também estiver vazio ou expirado, apenas o nó que
+ * obtiver a concessão da moeda base consulta a API externa e publica a nova versão; os demais continuam
+ * servindo o snapshot anterior (ou aguardam a publicação, se não houver nenhum), sem reler o L2 a cada
+ * requisição enquanto a atualização não termina.</p>
+ *
+ * <p>Não há difusão de invalidações entre nós: cada nó compara periodicamente ({@code
+ * exchange-rate.cache.sync-interval}) a versão das suas cópias locais com a do L2 e descarta as
+ * desatualizadas. Só o L2 embutido ({@link InMemorySharedRateStore}), restrito à JVM, avisa os caches na
+ * hora.</p>
+ */
+@Slf4j
+public class TwoTierRateCache extends AbstractValueAdaptingCache {
+    private static final long POLL_INTERVAL = 50;
+    /** Por quanto tempo uma cópia expirada é servida do L1, sem reler o L2, enquanto outro nó a atualiza. */
+    private static final long STALE_RECHECK_INTERVAL = 1000;
+
+    private final String name;
+    private final SharedRateStore store;
+    private final String nodeId;
+    private final long ttl;
+    private final long leaseTime;
+    private final long leaseWait;
+    private final ConcurrentMap<String, RateSnapshot> local = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> refreshLocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> staleUntil = new ConcurrentHashMap<>();
+
+    public TwoTierRateCache(String name, SharedRateStore store, String nodeId, long ttl, long leaseTime, long leaseWait) {
+        super(false);
+        this.name = name;
+        this.store = store;
+        this.nodeId = nodeId;
+        this.ttl = ttl;
+        this.leaseTime = leaseTime;
+        this.leaseWait = leaseWait;
+        store.addInvalidationListener(this::invalidate);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        RateSnapshot snapshot = freshSnapshot(key.toString());
+        return snapshot != null ? snapshot.getRates() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String base = key.toString();
+        RateSnapshot snapshot = freshSnapshot(base);
+        if (snapshot == null) {
+            synchronized (refreshLocks.computeIfAbsent(base, k -> new Object())) {
+                snapshot = freshSnapshot(base);
+                if (snapshot == null) {
+                    snapshot = refresh(base, valueLoader);
+                }
+            }
+        }
+        return (T) snapshot.getRates();
+    }
+
+    /**
+     * Indica se o L1 tem um snapshot dentro do TTL, sem consultar o L2.
+     */
+    public boolean isCachedLocally(String base) {
+        return isFresh(local.get(base));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void put(Object key, Object value) {
+        install(store.publish(key.toString(), (Map<String, BigDecimal>) value, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.remove(key.toString());
+        staleUntil.remove(key.toString());
+        store.remove(key.toString());
+    }
+
+    @Override
+    public void clear() {
+        for (String base : local.keySet()) {
+            evict(base);
+        }
+    }
+
+    /**
+     * Reconcilia o L1 com as versões do L2. É o mecanismo de invalidação entre nós; a notificação do
+     * L2 embutido só antecipa o descarte dentro da mesma JVM.
+     */
+    @Scheduled(fixedDelayString = "${exchange-rate.cache.sync-interval:5000}")
+    public void synchronize() {
+        for (RateSnapshot snapshot : local.values()) {
+            try {
+                invalidate(snapshot.getBase(), store.version(snapshot.getBase()));
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao verificar versão de {} no cache compartilhado: {}", snapshot.getBase(), ex.getMessage());
+            }
+        }
+    }
+
+    private void invalidate(String base, long version) {
+        local.computeIfPresent(base, (k, snapshot) -> snapshot.getVersion() < version ? null : snapshot);
+    }
+
+    private RateSnapshot freshSnapshot(String base) {
+        RateSnapshot snapshot = local.get(base);
+        if (isFresh(snapshot)) {
+            return snapshot;
+        }
+        if (snapshot != null && System.currentTimeMillis() < staleUntil.getOrDefault(base, 0L)) {
+            // Outro nó está atualizando esta moeda; o L2 foi consultado há pouco
+            return snapshot;
+        }
+        snapshot = store.get(base);
+        if (isFresh(snapshot)) {
+            return install(snapshot);
+        }
+        return null;
+    }
+
+    private RateSnapshot refresh(String base, Callable<?> valueLoader) {
+        long deadline = System.currentTimeMillis() + leaseWait;
+        while (!store.tryLock(base, nodeId, leaseTime)) {
+            RateSnapshot current = store.get(base);
+            if (current != null) {
+                // Outro nó está atualizando: serve a versão atual (mesmo expirada) em vez de consultar a API também
+                staleUntil.put(base, System.currentTimeMillis() + STALE_RECHECK_INTERVAL);
+                return install(current);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("Concessão de {} não liberada em {} ms; consultando a API externa diretamente", base, leaseWait);
+                // Sem a concessão: o L2 atribui a versão atomicamente, então a publicação concorrente é segura
+                return install(store.publish(base, load(base, valueLoader), System.currentTimeMillis()));
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ValueRetrievalException(base, valueLoader, ex);
+            }
+        }
+        try {
+            RateSnapshot current = store.get(base);
+            if (isFresh(current)) {
+                return install(current);
+            }
+            return install(store.publish(base, load(base, valueLoader), System.currentTimeMillis()));
+        } finally {
+            store.unlock(base, nodeId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, BigDecimal> load(String base, Callable<?> valueLoader) {
+        try {
+            return (Map<String, BigDecimal>) valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(base, valueLoader, ex);
+        }
+    }
+
+    private RateSnapshot install(RateSnapshot snapshot) {
+        return local.merge(snapshot.getBase(), snapshot,
+                (current, candidate) -> candidate.getVersion() >= current.getVersion() ? candidate : current);
+    }
+
+    private boolean isFresh(RateSnapshot snapshot) {
+        return snapshot != null && System.currentTimeMillis() - snapshot.getFetchedAt() < ttl;
+    }
+}
@@ -1,17 +1,60 @@
 package com.conversor.config;
 
+import com.conversor.cache.InMemorySharedRateStore;
+import com.conversor.cache.JpaSharedRateStore;
+import com.conversor.cache.SharedRateStore;
+import com.conversor.cache.TwoTierRateCache;
+import com.conversor.repository.RateLeaseRepository;
+import com.conversor.repository.RateSnapshotEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.List;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
+@EnableScheduling
 public class CacheConfig {
+    public static final String EXCHANGE_RATES = "exchangeRates";
+
+    @Bean
+    @ConditionalOnProperty(name = "exchange-rate.cache.l2", havingValue = "local", matchIfMissing = true)
+    public SharedRateStore localSharedRateStore() {
+        return new InMemorySharedRateStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "exchange-rate.cache.l2", havingValue = "jpa")
+    public SharedRateStore jpaSharedRateStore(RateSnapshotEntryRepository snapshotRepository,
+                                              RateLeaseRepository leaseRepository,
+                                              ObjectMapper objectMapper) {
+        return new JpaSharedRateStore(snapshotRepository, leaseRepository, objectMapper);
+    }
+
+    @Bean
+    public TwoTierRateCache exchangeRatesCache(SharedRateStore sharedRateStore,
+                                               @Value("${exchange-rate.cache.node-id:}") String nodeId,
+                                               @Value("${exchange-rate.cache.ttl:3600000}") long ttl,
+                                               @Value("${exchange-rate.cache.lease-time:10000}") long leaseTime,
+                                               @Value("${exchange-rate.cache.lease-wait:5000}") long leaseWait) {
+        if (nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+        return new TwoTierRateCache(EXCHANGE_RATES, sharedRateStore, nodeId, ttl, leaseTime, leaseWait);
+    }
+
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("exchangeRates");
+    public CacheManager cacheManager(TwoTierRateCache exchangeRatesCache) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(exchangeRatesCache));
         return cacheManager;
     }
-} 
\ No newline at end of file
+}
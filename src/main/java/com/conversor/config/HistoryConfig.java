@@ -0,0 +1,44 @@
+package com.conversor.config;
+
+import com.conversor.repository.ConversionHistoryRepository;
+import com.conversor.repository.ConversionHistoryStore;
+import com.conversor.repository.HistoryArchive;
+import com.conversor.repository.HistoryPartitioning;
+import com.conversor.repository.JpaConversionHistoryStore;
+import com.conversor.repository.PartitionedConversionHistoryStore;
+import com.conversor.repository.ProviderDictionary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+@Configuration
+public class HistoryConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "history.partitioning", havingValue = "none", matchIfMissing = true)
+    public ConversionHistoryStore jpaConversionHistoryStore(
+            ConversionHistoryRepository conversionHistoryRepository,
+            JdbcTemplate jdbcTemplate,
+            ProviderDictionary providerDictionary,
+            @Value("${history.retention.batch-size:1000}") int batchSize) {
+        return new JpaConversionHistoryStore(conversionHistoryRepository, jdbcTemplate, providerDictionary, batchSize);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${history.partitioning:none}' != 'none'")
+    public ConversionHistoryStore partitionedConversionHistoryStore(
+            JdbcTemplate jdbcTemplate,
+            ProviderDictionary providerDictionary,
+            @Value("${history.partitioning}") String partitioning,
+            @Value("${history.archive.enabled:false}") boolean archiveEnabled,
+            @Value("${history.archive.directory:archive/history}") String archiveDirectory) {
+        HistoryArchive archive = archiveEnabled ? new HistoryArchive(Path.of(archiveDirectory)) : null;
+        return new PartitionedConversionHistoryStore(
+                jdbcTemplate, providerDictionary, HistoryPartitioning.from(partitioning), archive);
+    }
+}
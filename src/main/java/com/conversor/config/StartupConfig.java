@@ -0,0 +1,29 @@
+package com.conversor.config;
+
+import com.conversor.controller.CurrencyController;
+import com.conversor.service.CurrencyRegistry;
+import com.conversor.service.ExchangeRateService;
+import com.conversor.service.HistoryRetentionJob;
+import com.conversor.service.StartupWarmup;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+    /**
+     * Com {@code spring.main.lazy-initialization=true} (perfil fast-startup), mantém inicializados
+     * na subida os beans do caminho crítico da conversão e os que só existem para agendar tarefas (nenhum
+     * outro bean os referencia, então nunca seriam criados); os demais são criados no primeiro uso.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter criticalBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                CurrencyRegistry.class,
+                ExchangeRateService.class,
+                CurrencyController.class,
+                StartupWarmup.class,
+                HistoryRetentionJob.class
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.conversor.config;
+
+import com.conversor.timing.StageTimer;
+import com.conversor.timing.StageTimingInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "timing.enabled", havingValue = "true", matchIfMissing = true)
+public class TimingConfig implements WebMvcConfigurer {
+    private final StageTimingInterceptor stageTimingInterceptor;
+
+    public TimingConfig(StageTimer stageTimer,
+                        @Value("${timing.slow-threshold:1000}") long slowThreshold,
+                        @Value("${timing.slow-sample-rate:0.1}") double slowSampleRate) {
+        this.stageTimingInterceptor = new StageTimingInterceptor(stageTimer, slowThreshold, slowSampleRate);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Primeiro da cadeia, para que o total inclua a espera no limite de concorrência
+        registry.addInterceptor(stageTimingInterceptor)
+                .addPathPatterns("/currencies/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
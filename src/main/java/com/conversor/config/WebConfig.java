@@ -0,0 +1,90 @@
+package com.conversor.config;
+
+import com.conversor.limit.AdaptiveConcurrencyLimiter;
+import com.conversor.limit.ConcurrencyLimitInterceptor;
+import com.conversor.service.ExchangeRateService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Dois limites de concorrência: o do provedor externo, que requisições com a moeda base no cache podem
+ * ignorar, e o da gravação do histórico, que vale para toda conversão, inclusive as servidas do cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class WebConfig implements WebMvcConfigurer {
+    private final ConcurrencyLimitInterceptor upstreamLimitInterceptor;
+    private final ConcurrencyLimitInterceptor persistLimitInterceptor;
+
+    public WebConfig(@Qualifier("concurrencyLimiter") AdaptiveConcurrencyLimiter concurrencyLimiter,
+                     @Qualifier("persistConcurrencyLimiter") AdaptiveConcurrencyLimiter persistConcurrencyLimiter,
+                     ExchangeRateService exchangeRateService,
+                     MeterRegistry meterRegistry,
+                     @Value("${concurrency-limit.retry-after:1}") long retryAfterSeconds) {
+        this.upstreamLimitInterceptor = new ConcurrencyLimitInterceptor(
+                "upstream", concurrencyLimiter, exchangeRateService::hasCachedRates, meterRegistry, retryAfterSeconds);
+        this.persistLimitInterceptor = new ConcurrencyLimitInterceptor(
+                "persist", persistConcurrencyLimiter, null, meterRegistry, retryAfterSeconds);
+    }
+
+    @Bean
+    public static AdaptiveConcurrencyLimiter concurrencyLimiter(
+            @Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${concurrency-limit.queue-size:50}") int queueSize,
+            @Value("${concurrency-limit.queue-timeout:100}") long queueTimeout,
+            MeterRegistry meterRegistry) {
+        return register(new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, smoothing, queueSize, queueTimeout), "upstream", meterRegistry);
+    }
+
+    @Bean
+    public static AdaptiveConcurrencyLimiter persistConcurrencyLimiter(
+            @Value("${concurrency-limit.persist.initial-limit:20}") int initialLimit,
+            @Value("${concurrency-limit.persist.min-limit:4}") int minLimit,
+            @Value("${concurrency-limit.persist.max-limit:200}") int maxLimit,
+            @Value("${concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${concurrency-limit.persist.queue-size:50}") int queueSize,
+            @Value("${concurrency-limit.persist.queue-timeout:100}") long queueTimeout,
+            MeterRegistry meterRegistry) {
+        return register(new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, smoothing, queueSize, queueTimeout), "persist", meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // A listagem de moedas e as estatísticas são servidas da memória e ficam fora do limite
+        registry.addInterceptor(upstreamLimitInterceptor)
+                .addPathPatterns("/currencies/**")
+                .excludePathPatterns("/currencies", "/currencies/analytics/**");
+        // Toda conversão grava o histórico, com ou sem a moeda base no cache
+        registry.addInterceptor(persistLimitInterceptor)
+                .addPathPatterns("/currencies/convert");
+    }
+
+    private static AdaptiveConcurrencyLimiter register(AdaptiveConcurrencyLimiter limiter, String scope,
+                                                       MeterRegistry meterRegistry) {
+        Gauge.builder("api.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Limite atual de requisições simultâneas")
+                .tag("limit", scope)
+                .register(meterRegistry);
+        Gauge.builder("api.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requisições em andamento dentro do limite")
+                .tag("limit", scope)
+                .register(meterRegistry);
+        Gauge.builder("api.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Requisições aguardando vaga")
+                .tag("limit", scope)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
@@ -0,0 +1,20 @@
+package com.conversor.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class WireFormatConfig {
+    /**
+     * Conversor {@code application/cbor} com a mesma configuração Jackson do JSON (módulos, datas, spring.jackson.*).
+     * O JSON continua sendo o formato padrão; o CBOR só é usado quando o cliente o pede no {@code Accept}.
+     * Valores {@code BigDecimal} são gravados como frações decimais CBOR (tag 4: expoente + inteiro escalado).
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
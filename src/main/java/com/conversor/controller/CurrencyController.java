@@ -1,8 +1,14 @@
 package com.conversor.controller;
 
 import com.conversor.dto.ConversionResponse;
+import com.conversor.dto.MultiConversionResponse;
+import com.conversor.dto.PairStatistics;
 import com.conversor.model.ConversionHistory;
+import com.conversor.model.RegisteredCurrency;
+import com.conversor.service.ConversionAnalytics;
+import com.conversor.service.CurrencyRegistry;
 import com.conversor.service.ExchangeRateService;
+import com.conversor.service.RateTableEncoder;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +20,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -27,29 +35,33 @@ import java.util.Map;
 @Tag(name = "Currency Converter", description = "API para conversão de moedas")
 public class CurrencyController {
     private final ExchangeRateService exchangeRateService;
+    private final CurrencyRegistry currencyRegistry;
+    private final ConversionAnalytics conversionAnalytics;
+    private final RateTableEncoder rateTableEncoder;
 
     @GetMapping
     @Operation(summary = "Listar todas as moedas suportadas",
-               description = "Retorna a lista de moedas suportadas e suas taxas de câmbio em relação a uma moeda base (atualmente USD).")
+               description = "Retorna a lista de moedas suportadas (código, nome e símbolo), servida do registro em memória.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operação bem-sucedida",
                          content = @Content(mediaType = "application/json",
-                         schema = @Schema(implementation = Map.class))),
-            @ApiResponse(responseCode = "503", description = "Serviço externo indisponível",
-                         content = @Content(mediaType = "application/json"))
+                         schema = @Schema(implementation = RegisteredCurrency.class)))
     })
-    public ResponseEntity<Map<String, BigDecimal>> listCurrencies() {
-        // Atualmente, lista as taxas em relação ao USD. Pode ser melhorado para listar apenas moedas suportadas.
-        return ResponseEntity.ok(exchangeRateService.getExchangeRates("USD"));
+    public ResponseEntity<List<RegisteredCurrency>> listCurrencies() {
+        return ResponseEntity.ok(currencyRegistry.getCurrencies());
     }
 
     @GetMapping("/convert")
     @Operation(summary = "Converter valor entre moedas",
-               description = "Converte um valor de uma moeda para outra utilizando taxas de câmbio em tempo real.")
+               description = "Converte um valor de uma moeda para outra utilizando taxas de câmbio em tempo real. " +
+                             "Com várias moedas de destino (to=BRL,EUR,JPY) ou to=all, retorna um mapa compacto " +
+                             "com o valor convertido e a taxa de cada destino, calculados a partir da mesma tabela de taxas.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Conversão bem-sucedida",
-                         content = @Content(mediaType = "application/json",
-                         schema = @Schema(implementation = ConversionResponse.class))),
+                         content = {@Content(mediaType = "application/json",
+                                             schema = @Schema(oneOf = {ConversionResponse.class, MultiConversionResponse.class})),
+                                    @Content(mediaType = "application/cbor",
+                                             schema = @Schema(oneOf = {ConversionResponse.class, MultiConversionResponse.class}))}),
             @ApiResponse(responseCode = "400", description = "Requisição inválida (moeda não suportada, valor inválido)",
                          content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "429", description = "Rate limit excedido",
@@ -57,23 +69,28 @@ public class CurrencyController {
             @ApiResponse(responseCode = "503", description = "Serviço externo indisponível",
                          content = @Content(mediaType = "application/json"))
     })
-    public ResponseEntity<ConversionResponse> convert(
+    public ResponseEntity<?> convert(
             @Parameter(description = "Código da moeda de origem (ISO 4217)", example = "USD")
             @RequestParam String from,
-            @Parameter(description = "Código da moeda de destino (ISO 4217)", example = "BRL")
-            @RequestParam String to,
+            @Parameter(description = "Código(s) da moeda de destino (ISO 4217), separados por vírgula, ou \"all\"", example = "BRL")
+            @RequestParam List<String> to,
             @Parameter(description = "Valor a ser convertido", example = "100.50")
             @RequestParam BigDecimal amount) {
-        return ResponseEntity.ok(exchangeRateService.convert(from, to, amount));
+        if (to.size() == 1 && !ExchangeRateService.ALL_TARGETS.equalsIgnoreCase(to.get(0).trim())) {
+            return ResponseEntity.ok(exchangeRateService.convert(from, to.get(0), amount));
+        }
+        return ResponseEntity.ok(exchangeRateService.convertMany(from, to, amount));
     }
 
     @GetMapping("/rates/{currency}")
     @Operation(summary = "Obter taxas de câmbio de uma moeda base",
-               description = "Retorna as taxas de câmbio de uma moeda base em relação a outras moedas.")
+               description = "Retorna as taxas de câmbio de uma moeda base em relação a outras moedas. " +
+                             "Com Accept: application/cbor, retorna a tabela em CBOR, codificada uma vez por snapshot de taxas.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operação bem-sucedida",
-                         content = @Content(mediaType = "application/json",
-                         schema = @Schema(implementation = Map.class))),
+                         content = {@Content(mediaType = "application/json",
+                                             schema = @Schema(implementation = Map.class)),
+                                    @Content(mediaType = "application/cbor")}),
             @ApiResponse(responseCode = "400", description = "Requisição inválida (moeda base não suportada)",
                          content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "503", description = "Serviço externo indisponível",
@@ -85,6 +102,14 @@ public class CurrencyController {
         return ResponseEntity.ok(exchangeRateService.getExchangeRates(currency));
     }
 
+    @GetMapping(value = "/rates/{currency}", produces = MediaType.APPLICATION_CBOR_VALUE)
+    @Operation(hidden = true)
+    public ResponseEntity<byte[]> getRatesCbor(@PathVariable String currency) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_CBOR)
+                .body(rateTableEncoder.encode(currency, exchangeRateService.getExchangeRates(currency)));
+    }
+
     @GetMapping("/history/{fromCurrency}/{toCurrency}")
     @Operation(summary = "Obter histórico de conversões",
                description = "Retorna o histórico de conversões entre duas moedas em um determinado período.")
@@ -109,4 +134,48 @@ public class CurrencyController {
             Pageable pageable) {
         return ResponseEntity.ok(exchangeRateService.getConversionHistory(fromCurrency, toCurrency, startDate, endDate, pageable));
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/history/{fromCurrency}/{toCurrency}/archived")
+    @Operation(summary = "Obter histórico arquivado de conversões",
+               description = "Consulta sob demanda as partições do histórico que já expiraram e foram arquivadas em arquivos compactados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Histórico arquivado retornado com sucesso",
+                         content = @Content(mediaType = "application/json",
+                         schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida (formato de data incorreto)",
+                         content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                         content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Page<ConversionHistory>> getArchivedHistory(
+            @Parameter(description = "Código da moeda de origem (ISO 4217)", example = "USD")
+            @PathVariable String fromCurrency,
+            @Parameter(description = "Código da moeda de destino (ISO 4217)", example = "BRL")
+            @PathVariable String toCurrency,
+            @Parameter(description = "Data de início do período (ISO 8601)", example = "2023-01-01T00:00:00Z")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Data de fim do período (ISO 8601)", example = "2023-12-31T23:59:59Z")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            Pageable pageable) {
+        return ResponseEntity.ok(exchangeRateService.getArchivedConversionHistory(fromCurrency, toCurrency, startDate, endDate, pageable));
+    }
+
+    @GetMapping("/analytics/top-pairs")
+    @Operation(summary = "Obter os pares de moedas mais convertidos",
+               description = "Retorna, a partir das estatísticas em memória desta instância, os pares mais convertidos com a distribuição dos valores e a latência aproximada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida",
+                         content = @Content(mediaType = "application/json",
+                         schema = @Schema(implementation = PairStatistics.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida (limite fora do intervalo)",
+                         content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<List<PairStatistics>> getTopPairs(
+            @Parameter(description = "Quantidade de pares retornados (1 a 100)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e 100");
+        }
+        return ResponseEntity.ok(conversionAnalytics.topPairs(limit));
+    }
+}
@@ -0,0 +1,23 @@
+package com.conversor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiConversionResponse {
+    private String from;
+    private BigDecimal amount;
+    /** Valor convertido por moeda de destino */
+    private Map<String, BigDecimal> conversions;
+    /** Taxa aplicada por moeda de destino */
+    private Map<String, BigDecimal> rates;
+    private LocalDateTime timestamp;
+    private String provider;
+}
@@ -0,0 +1,19 @@
+package com.conversor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PairStatistics {
+    private String from;
+    private String to;
+    private long count;
+    private Map<String, Long> amountDistribution;
+    private Long latencyP50Micros;
+    private Long latencyP99Micros;
+}
@@ -0,0 +1,186 @@
+package com.conversor.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite adaptativo de requisições simultâneas, ajustado pela latência observada (algoritmo de gradiente).
+ *
+ * <p>Mantém duas médias móveis da latência: uma curta, que reflete a carga atual, e uma longa, que estima a
+ * latência sem fila. Enquanto a curta se mantém próxima da longa o limite cresce ({@code + sqrt(limite)});
+ * quando a curta sobe, o limite é reduzido proporcionalmente ao gradiente {@code longa / curta} (no máximo
+ * pela metade a cada amostra). Falhas do serviço (5xx) reduzem o limite multiplicativamente, como no AIMD.</p>
+ *
+ * <p>Requisições acima do limite esperam em uma fila limitada por {@code queueSize} e {@code queueTimeout};
+ * se a fila estiver cheia ou a espera expirar, {@link #tryAcquire()} retorna {@code false}.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double SHORT_RTT_ALPHA = 0.2;
+    private static final double LONG_RTT_ALPHA = 1.0 / 600;
+    private static final double TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private double shortRtt;
+    private double longRtt;
+    private int inFlight;
+    private int queued;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                      int queueSize, long queueTimeoutMillis) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos: inicial=" + initialLimit +
+                    ", mínimo=" + minLimit + ", máximo=" + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.queueSize = queueSize;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+    }
+
+    /**
+     * Reserva uma vaga somente se houver uma livre agora, sem entrar na fila. Toda reserva bem-sucedida
+     * deve ser devolvida com {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquireNow() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserva uma vaga, aguardando na fila se necessário. Toda reserva bem-sucedida deve ser devolvida
+     * com {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= queueSize || queueTimeoutNanos <= 0) {
+                return false;
+            }
+            queued++;
+            try {
+                long remaining = queueTimeoutNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve a vaga e usa a latência da requisição para ajustar o limite.
+     *
+     * @param dropped {@code true} se a requisição falhou por sobrecarga ou indisponibilidade
+     */
+    public void release(long rttNanos, boolean dropped) {
+        lock.lock();
+        try {
+            int concurrency = inFlight;
+            inFlight--;
+            if (dropped) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else {
+                adjust(rttNanos, concurrency);
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve a vaga sem ajustar o limite (a requisição não chegou a ser processada).
+     */
+    public void cancel() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long rttNanos, int concurrency) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += SHORT_RTT_ALPHA * (rttNanos - shortRtt);
+        longRtt += LONG_RTT_ALPHA * (rttNanos - longRtt);
+        if (longRtt > 2 * shortRtt) {
+            // A latência base caiu (ex.: fim de uma lentidão do provedor); aproxima a média longa mais rápido
+            longRtt *= 0.95;
+        }
+        if (concurrency < limit / 2) {
+            // Pouco tráfego: a latência não diz nada sobre o limite atual
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, (1 - smoothing) * limit + smoothing * target));
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.conversor.limit;
+
+import com.conversor.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Aplica um {@link AdaptiveConcurrencyLimiter} às requisições da API de conversão. Sem vaga livre, as
+ * requisições esperam na fila do limitador e, se ela estiver cheia ou a espera expirar, são rejeitadas com
+ * 503 e {@code Retry-After}.
+ *
+ * <p>Com {@code cachedBase}, a requisição cuja moeda base já está no cache passa na hora, sem ocupar vaga
+ * nem esperar na fila: é o caso do limite do provedor externo, do qual ela não depende. Sem ele, o limite
+ * vale para todas as requisições (ex.: o limite da gravação do histórico).</p>
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    private static final String REJECTED_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".rejected";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Predicate<String> cachedBase;
+    private final long retryAfterSeconds;
+    private final String startAttribute;
+    private final Counter rejected;
+    private final Counter bypassed;
+
+    /**
+     * @param scope      nome do limite nas métricas (tag {@code limit})
+     * @param cachedBase indica se a moeda base está no cache; {@code null} desabilita o desvio
+     */
+    public ConcurrencyLimitInterceptor(String scope, AdaptiveConcurrencyLimiter limiter, Predicate<String> cachedBase,
+                                       MeterRegistry meterRegistry, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.cachedBase = cachedBase;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.startAttribute = ConcurrencyLimitInterceptor.class.getName() + "." + scope + ".start";
+        this.rejected = Counter.builder("api.concurrency.rejected")
+                .description("Requisições rejeitadas pelo limite de concorrência")
+                .tag("limit", scope)
+                .register(meterRegistry);
+        this.bypassed = Counter.builder("api.concurrency.bypassed")
+                .description("Requisições servidas do cache com o limite de concorrência saturado")
+                .tag("limit", scope)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (limiter.tryAcquireNow()) {
+            request.setAttribute(startAttribute, System.nanoTime());
+            return true;
+        }
+        if (cachedBase != null) {
+            String base = baseCurrency(request);
+            if (base != null && cachedBase.test(base)) {
+                bypassed.increment();
+                return true;
+            }
+        }
+        if (limiter.tryAcquire()) {
+            request.setAttribute(startAttribute, System.nanoTime());
+            return true;
+        }
+        rejected.increment();
+        request.setAttribute(REJECTED_ATTRIBUTE, Boolean.TRUE);
+        throw new ServiceOverloadedException(
+                "Serviço sobrecarregado, tente novamente em " + retryAfterSeconds + "s", retryAfterSeconds);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(startAttribute);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(startAttribute);
+        if (request.getAttribute(REJECTED_ATTRIBUTE) != null) {
+            // Rejeitada por outro limite: o 503 não diz nada sobre a latência deste
+            limiter.cancel();
+            return;
+        }
+        boolean dropped = ex != null || response.getStatus() >= 500;
+        limiter.release(System.nanoTime() - (Long) start, dropped);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String baseCurrency(HttpServletRequest request) {
+        String from = request.getParameter("from");
+        if (from != null) {
+            return from;
+        }
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables != null ? variables.get("currency") : null;
+    }
+}
@@ -7,8 +7,13 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Registro do histórico. Armazenado em formato compacto (moedas e provedor como SMALLINT, valores como
+ * BIGINT em milionésimos); os conversores mantêm a mesma visão da entidade e da API.
+ */
 @Entity
-@Table(name = "conversion_history")
+@Table(name = "conversion_history",
+       indexes = @Index(name = "ix_conversion_history_pair", columnList = "from_currency, to_currency, timestamp"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,24 +22,30 @@ public class ConversionHistory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(name = "from_currency", nullable = false)
+    @Convert(converter = CurrencyCodeConverter.class)
     private String fromCurrency;
 
-    @Column(nullable = false)
+    @Column(name = "to_currency", nullable = false)
+    @Convert(converter = CurrencyCodeConverter.class)
     private String toCurrency;
 
-    @Column(nullable = false, precision = 19, scale = 6)
+    @Column(nullable = false)
+    @Convert(converter = ScaledDecimalConverter.class)
     private BigDecimal amount;
 
-    @Column(nullable = false, precision = 19, scale = 6)
+    @Column(nullable = false)
+    @Convert(converter = ScaledDecimalConverter.class)
     private BigDecimal convertedAmount;
 
-    @Column(nullable = false, precision = 19, scale = 6)
+    @Column(nullable = false)
+    @Convert(converter = ScaledDecimalConverter.class)
     private BigDecimal exchangeRate;
 
-    @Column(nullable = false)
+    @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
 
     @Column(nullable = false)
+    @Convert(converter = ProviderConverter.class)
     private String provider;
-} 
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.conversor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Armazena um código ISO 4217 como SMALLINT (base 26: "AAA" = 0 ... "ZZZ" = 17575), em vez de VARCHAR.
+ * A codificação não depende de nenhuma tabela, então é estável entre nós e versões.
+ */
+@Converter
+public class CurrencyCodeConverter implements AttributeConverter<String, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(String code) {
+        return code != null ? encode(code) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short value) {
+        return value != null ? decode(value) : null;
+    }
+
+    public static short encode(String code) {
+        if (code.length() != 3) {
+            throw new IllegalArgumentException("Código de moeda inválido: " + code);
+        }
+        int value = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = code.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                throw new IllegalArgumentException("Código de moeda inválido: " + code);
+            }
+            value = value * 26 + (c - 'A');
+        }
+        return (short) value;
+    }
+
+    public static String decode(short value) {
+        char[] chars = new char[3];
+        int remaining = value;
+        for (int i = 2; i >= 0; i--) {
+            chars[i] = (char) ('A' + remaining % 26);
+            remaining /= 26;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,28 @@
+package com.conversor.model;
+
+import com.conversor.repository.ProviderDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Armazena o nome do provedor de cotações como id SMALLINT da tabela {@code history_provider}.
+ * Registrado como bean para que o Hibernate o obtenha, com suas dependências, do contêiner do Spring.
+ */
+@Converter
+@Component
+@RequiredArgsConstructor
+public class ProviderConverter implements AttributeConverter<String, Short> {
+    private final ProviderDictionary providerDictionary;
+
+    @Override
+    public Short convertToDatabaseColumn(String provider) {
+        return provider != null ? providerDictionary.idOf(provider) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return id != null ? providerDictionary.nameOf(id) : null;
+    }
+}
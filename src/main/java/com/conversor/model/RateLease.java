@@ -0,0 +1,29 @@
+package com.conversor.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Concessão exclusiva para atualizar as taxas de uma moeda base no L2 compartilhado.
+ */
+@Entity
+@Table(name = "rate_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLease {
+    @Id
+    @Column(length = 3)
+    private String base;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private long expiresAt;
+
+    @Version
+    private Long revision; // nulo em instâncias novas, forçando INSERT (e falha de chave em corrida)
+}
@@ -0,0 +1,29 @@
+package com.conversor.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot de taxas compartilhado entre os nós (L2 do cache quando {@code exchange-rate.cache.l2=jpa}).
+ */
+@Entity
+@Table(name = "rate_snapshot")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateSnapshotEntry {
+    @Id
+    @Column(length = 3)
+    private String base;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private long fetchedAt;
+
+    @Lob
+    private String rates; // JSON; nulo quando o snapshot foi removido
+}
@@ -0,0 +1,17 @@
+package com.conversor.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+/**
+ * Visão imutável e interna de uma {@link Currency} ativa. O ordinal é denso (0..n-1)
+ * e permite indexar estruturas auxiliares por array em vez de mapas.
+ */
+@Value
+public class RegisteredCurrency {
+    @JsonIgnore
+    int ordinal;
+    String code;
+    String name;
+    String symbol;
+}
@@ -0,0 +1,38 @@
+package com.conversor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Armazena valores com 6 casas decimais como BIGINT em milionésimos (8 bytes, comparável e indexável),
+ * em vez de DECIMAL(19,6). Faixa: ±9.223.372.036.854,775807.
+ */
+@Converter
+public class ScaledDecimalConverter implements AttributeConverter<BigDecimal, Long> {
+    public static final int SCALE = 6;
+
+    @Override
+    public Long convertToDatabaseColumn(BigDecimal value) {
+        return value != null ? encode(value) : null;
+    }
+
+    @Override
+    public BigDecimal convertToEntityAttribute(Long value) {
+        return value != null ? decode(value) : null;
+    }
+
+    public static long encode(BigDecimal value) {
+        try {
+            return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Valor fora da faixa suportada pelo histórico: " + value, ex);
+        }
+    }
+
+    public static BigDecimal decode(long value) {
+        return BigDecimal.valueOf(value, SCALE);
+    }
+}
@@ -4,7 +4,11 @@ import com.conversor.model.ConversionHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -17,4 +21,11 @@ public interface ConversionHistoryRepository extends JpaRepository<ConversionHis
             LocalDateTime endDate,
             Pageable pageable
     );
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM conversion_history WHERE id IN " +
+                   "(SELECT id FROM conversion_history WHERE timestamp < :cutoff ORDER BY id LIMIT :batchSize)",
+           nativeQuery = true)
+    int deleteBatchOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 } 
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.conversor.repository;
+
+import com.conversor.model.ConversionHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Armazenamento do histórico de conversões. A implementação é escolhida por {@code history.partitioning}:
+ * tabela única via JPA ({@code none}) ou tabelas particionadas por dia/mês ({@code daily}/{@code monthly}).
+ */
+public interface ConversionHistoryStore {
+
+    ConversionHistory save(ConversionHistory history);
+
+    /**
+     * Grava vários registros de uma vez (ex.: uma conversão para várias moedas de destino), em um único
+     * lote JDBC. Os ids gerados não são preenchidos nos registros devolvidos.
+     */
+    List<ConversionHistory> saveAll(List<ConversionHistory> histories);
+
+    Page<ConversionHistory> findByFromCurrencyAndToCurrencyAndTimestampBetween(
+            String fromCurrency,
+            String toCurrency,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable
+    );
+
+    /**
+     * Consulta registros que já saíram do banco e estão apenas no arquivo compactado.
+     */
+    default Page<ConversionHistory> findArchived(
+            String fromCurrency,
+            String toCurrency,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        return Page.empty(pageable);
+    }
+
+    /**
+     * Remove os registros anteriores a {@code cutoff} e retorna quantos foram removidos.
+     */
+    long purgeBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,12 @@
+package com.conversor.repository;
+
+import com.conversor.model.Currency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CurrencyRepository extends JpaRepository<Currency, String> {
+    List<Currency> findByActiveTrue();
+}
@@ -0,0 +1,224 @@
+package com.conversor.repository;
+
+import com.conversor.model.ConversionHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arquivo local de partições expiradas do histórico: um arquivo {@code <tabela>.tsv.gz} por partição,
+ * com um registro por linha. Os arquivos são imutáveis depois de escritos.
+ */
+public class HistoryArchive {
+    private static final String EXTENSION = ".tsv.gz";
+
+    private final Path directory;
+
+    public HistoryArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    public boolean contains(HistoryPartition partition) {
+        return Files.exists(fileOf(partition));
+    }
+
+    /**
+     * Escreve o arquivo da partição; {@code writerCallback} recebe um consumidor para cada registro.
+     * O arquivo só aparece no diretório depois de completo.
+     */
+    public void write(HistoryPartition partition, Consumer<Consumer<ConversionHistory>> writerCallback) {
+        try {
+            Files.createDirectories(directory);
+            Path target = fileOf(partition);
+            Path temp = Files.createTempFile(directory, partition.getTable(), ".tmp");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                writerCallback.accept(history -> writeLine(writer, history));
+            } catch (RuntimeException | IOException ex) {
+                Files.deleteIfExists(temp);
+                throw ex;
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao arquivar a partição " + partition.getTable(), ex);
+        }
+    }
+
+    /**
+     * Pagina os registros arquivados sem carregá-los todos: uma primeira passada só conta os registros de
+     * cada arquivo e a segunda lê apenas os arquivos que contêm a página, parando no último registro dela.
+     * Os arquivos já estão em ordem de data, então só a ordenação por {@code timestamp} é suportada.
+     */
+    public Page<ConversionHistory> find(
+            String fromCurrency,
+            String toCurrency,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        boolean descending = isDescending(pageable.getSort());
+        Predicate<ConversionHistory> matches = history -> history.getFromCurrency().equals(fromCurrency)
+                && history.getToCurrency().equals(toCurrency)
+                && !history.getTimestamp().isBefore(startDate)
+                && !history.getTimestamp().isAfter(endDate);
+
+        List<HistoryPartition> candidates = new ArrayList<>();
+        for (HistoryPartition partition : partitions()) {
+            if (partition.overlaps(startDate, endDate)) {
+                candidates.add(partition);
+            }
+        }
+        long[] counts = new long[candidates.size()];
+        long total = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            counts[i] = scan(candidates.get(i), matches, history -> true);
+            total += counts[i];
+        }
+
+        // Posições [first, last) na ordem crescente dos arquivos
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long size = pageable.isPaged() ? pageable.getPageSize() : total;
+        long first = descending ? Math.max(0, total - offset - size) : offset;
+        long last = descending ? total - offset : Math.min(total, offset + size);
+        if (first >= last) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        List<ConversionHistory> content = new ArrayList<>((int) (last - first));
+        long position = 0;
+        for (int i = 0; i < candidates.size() && position < last; i++) {
+            if (position + counts[i] > first) {
+                long[] index = {position};
+                scan(candidates.get(i), matches, history -> {
+                    if (index[0]++ >= first) {
+                        content.add(history);
+                    }
+                    return index[0] < last;
+                });
+            }
+            position += counts[i];
+        }
+        if (descending) {
+            Collections.reverse(content);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Lê o arquivo da partição em ordem, entregando a {@code visitor} cada registro aceito por {@code matches}
+     * até o fim do arquivo ou até {@code visitor} retornar {@code false}. Retorna quantos foram entregues.
+     */
+    private long scan(HistoryPartition partition, Predicate<ConversionHistory> matches,
+                      Predicate<ConversionHistory> visitor) {
+        long visited = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(fileOf(partition))), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ConversionHistory history = readLine(line);
+                if (matches.test(history)) {
+                    visited++;
+                    if (!visitor.test(history)) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao ler o arquivo da partição " + partition.getTable(), ex);
+        }
+        return visited;
+    }
+
+    private static boolean isDescending(Sort sort) {
+        boolean descending = false;
+        for (Sort.Order order : sort) {
+            if (!"timestamp".equals(order.getProperty())) {
+                throw new IllegalArgumentException("Ordenação não suportada no histórico arquivado: " + order.getProperty());
+            }
+            descending = order.isDescending();
+        }
+        return descending;
+    }
+
+    private List<HistoryPartition> partitions() {
+        List<HistoryPartition> partitions = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return partitions;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, HistoryPartition.PREFIX + "*" + EXTENSION)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                HistoryPartition.parse(name.substring(0, name.length() - EXTENSION.length()))
+                        .ifPresent(partitions::add);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao listar o diretório de arquivo do histórico", ex);
+        }
+        partitions.sort(Comparator.naturalOrder());
+        return partitions;
+    }
+
+    private Path fileOf(HistoryPartition partition) {
+        return directory.resolve(partition.getTable() + EXTENSION);
+    }
+
+    private static void writeLine(Writer writer, ConversionHistory history) {
+        try {
+            writer.write(history.getId() != null ? history.getId().toString() : "");
+            writer.write('\t');
+            writer.write(history.getFromCurrency());
+            writer.write('\t');
+            writer.write(history.getToCurrency());
+            writer.write('\t');
+            writer.write(history.getAmount().toPlainString());
+            writer.write('\t');
+            writer.write(history.getConvertedAmount().toPlainString());
+            writer.write('\t');
+            writer.write(history.getExchangeRate().toPlainString());
+            writer.write('\t');
+            writer.write(history.getTimestamp().toString());
+            writer.write('\t');
+            writer.write(history.getProvider().replace('\t', ' ').replace('\n', ' '));
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static ConversionHistory readLine(String line) {
+        String[] fields = line.split("\t", -1);
+        return new ConversionHistory(
+                fields[0].isEmpty() ? null : Long.valueOf(fields[0]),
+                fields[1],
+                fields[2],
+                new BigDecimal(fields[3]),
+                new BigDecimal(fields[4]),
+                new BigDecimal(fields[5]),
+                LocalDateTime.parse(fields[6]),
+                fields[7]
+        );
+    }
+}
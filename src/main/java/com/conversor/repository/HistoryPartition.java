@@ -0,0 +1,75 @@
+package com.conversor.repository;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Partição do histórico: uma tabela {@code conversion_history_pAAAAMMDD} (diária) ou
+ * {@code conversion_history_pAAAAMM} (mensal) cobrindo o intervalo [start, end).
+ */
+@Value
+public class HistoryPartition implements Comparable<HistoryPartition> {
+    public static final String PREFIX = "conversion_history_p";
+
+    private static final DateTimeFormatter DAILY = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter MONTHLY = DateTimeFormatter.ofPattern("yyyyMM");
+
+    String table;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public static HistoryPartition daily(LocalDate day) {
+        return new HistoryPartition(PREFIX + DAILY.format(day), day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    public static HistoryPartition monthly(YearMonth month) {
+        return new HistoryPartition(PREFIX + MONTHLY.format(month),
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    /**
+     * Reconhece o nome de uma tabela de partição (de qualquer granularidade), ignorando maiúsculas.
+     */
+    public static Optional<HistoryPartition> parse(String tableName) {
+        String name = tableName.toLowerCase(Locale.ROOT);
+        if (!name.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        String suffix = name.substring(PREFIX.length());
+        try {
+            if (suffix.length() == 8) {
+                return Optional.of(daily(LocalDate.parse(suffix, DAILY)));
+            }
+            if (suffix.length() == 6) {
+                return Optional.of(monthly(YearMonth.parse(suffix, MONTHLY)));
+            }
+        } catch (DateTimeParseException ex) {
+            return Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return from.isBefore(end) && !to.isBefore(start);
+    }
+
+    /**
+     * Indica se todos os registros possíveis desta partição são anteriores a {@code cutoff}.
+     */
+    public boolean endsBefore(LocalDateTime cutoff) {
+        return !end.isAfter(cutoff);
+    }
+
+    @Override
+    public int compareTo(HistoryPartition other) {
+        int byStart = start.compareTo(other.start);
+        return byStart != 0 ? byStart : end.compareTo(other.end);
+    }
+}
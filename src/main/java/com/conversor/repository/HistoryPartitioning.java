@@ -0,0 +1,23 @@
+package com.conversor.repository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Locale;
+
+public enum HistoryPartitioning {
+    NONE,
+    DAILY,
+    MONTHLY;
+
+    public HistoryPartition partitionFor(LocalDateTime timestamp) {
+        return switch (this) {
+            case DAILY -> HistoryPartition.daily(timestamp.toLocalDate());
+            case MONTHLY -> HistoryPartition.monthly(YearMonth.from(timestamp));
+            case NONE -> throw new IllegalStateException("Histórico não particionado");
+        };
+    }
+
+    public static HistoryPartitioning from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
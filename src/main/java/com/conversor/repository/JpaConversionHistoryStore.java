@@ -0,0 +1,65 @@
+package com.conversor.repository;
+
+import com.conversor.model.ConversionHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Histórico em tabela única ({@code conversion_history}). A retenção remove registros em lotes
+ * pequenos, cada um em sua própria transação, para não manter a tabela bloqueada por muito tempo.
+ *
+ * <p>Gravações em lote usam JDBC diretamente, com a mesma codificação dos conversores da entidade: com ids
+ * {@code IDENTITY}, o Hibernate executaria um INSERT por registro.</p>
+ */
+@RequiredArgsConstructor
+public class JpaConversionHistoryStore implements ConversionHistoryStore {
+    private final ConversionHistoryRepository conversionHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ProviderDictionary providerDictionary;
+    private final int purgeBatchSize;
+
+    @Override
+    public ConversionHistory save(ConversionHistory history) {
+        return conversionHistoryRepository.save(history);
+    }
+
+    @Override
+    @Transactional
+    public List<ConversionHistory> saveAll(List<ConversionHistory> histories) {
+        List<Object[]> args = new ArrayList<>(histories.size());
+        for (ConversionHistory history : histories) {
+            args.add(PartitionedConversionHistoryStore.insertArgs(history, providerDictionary));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO conversion_history" + PartitionedConversionHistoryStore.INSERT_COLUMNS, args);
+        return histories;
+    }
+
+    @Override
+    public Page<ConversionHistory> findByFromCurrencyAndToCurrencyAndTimestampBetween(
+            String fromCurrency,
+            String toCurrency,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        return conversionHistoryRepository.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+                fromCurrency, toCurrency, startDate, endDate, pageable);
+    }
+
+    @Override
+    public long purgeBefore(LocalDateTime cutoff) {
+        long removed = 0;
+        int deleted;
+        do {
+            deleted = conversionHistoryRepository.deleteBatchOlderThan(cutoff, purgeBatchSize);
+            removed += deleted;
+        } while (deleted == purgeBatchSize);
+        return removed;
+    }
+}
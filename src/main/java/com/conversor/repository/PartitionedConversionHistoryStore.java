@@ -0,0 +1,275 @@
+package com.conversor.repository;
+
+import com.conversor.model.ConversionHistory;
+import com.conversor.model.CurrencyCodeConverter;
+import com.conversor.model.ScaledDecimalConverter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Histórico particionado por tempo: cada dia ou mês ({@link HistoryPartitioning}) tem sua própria tabela
+ * {@code conversion_history_p...}, criada sob demanda. A retenção descarta partições inteiras com
+ * {@code DROP TABLE} (opcionalmente arquivando-as antes em {@link HistoryArchive}), sem apagar linha a
+ * linha nem fragmentar índices das partições ativas.
+ *
+ * <p>As linhas usam a mesma codificação compacta da entidade {@link ConversionHistory}. Os ids são
+ * únicos apenas dentro de cada partição.</p>
+ */
+@Slf4j
+public class PartitionedConversionHistoryStore implements ConversionHistoryStore {
+    private static final String COLUMNS =
+            "id, from_currency, to_currency, amount, converted_amount, exchange_rate, timestamp, provider";
+    static final String INSERT_COLUMNS =
+            " (from_currency, to_currency, amount, converted_amount, exchange_rate, timestamp, provider)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "id", "id",
+            "amount", "amount",
+            "convertedAmount", "converted_amount",
+            "exchangeRate", "exchange_rate",
+            "timestamp", "timestamp"
+    );
+    private static final long DISCOVERY_INTERVAL = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProviderDictionary providerDictionary;
+    private final HistoryPartitioning partitioning;
+    private final HistoryArchive archive;
+    private final Map<String, HistoryPartition> partitions = new ConcurrentHashMap<>();
+    private volatile long lastDiscovery;
+
+    /**
+     * @param archive destino das partições expiradas, ou {@code null} para descartá-las sem arquivar
+     */
+    public PartitionedConversionHistoryStore(JdbcTemplate jdbcTemplate, ProviderDictionary providerDictionary,
+                                             HistoryPartitioning partitioning, HistoryArchive archive) {
+        if (partitioning == HistoryPartitioning.NONE) {
+            throw new IllegalArgumentException("Granularidade de partição inválida: " + partitioning);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.providerDictionary = providerDictionary;
+        this.partitioning = partitioning;
+        this.archive = archive;
+    }
+
+    @PostConstruct
+    public void discoverPartitions() {
+        List<HistoryPartition> found = jdbcTemplate.execute((ConnectionCallback<List<HistoryPartition>>) connection -> {
+            List<HistoryPartition> tables = new ArrayList<>();
+            try (ResultSet rs = connection.getMetaData().getTables(null, null, "%", new String[] {"TABLE"})) {
+                while (rs.next()) {
+                    HistoryPartition.parse(rs.getString("TABLE_NAME")).ifPresent(tables::add);
+                }
+            }
+            return tables;
+        });
+        // Partições removidas por outros nós saem do mapa; as criadas por eles entram
+        partitions.keySet().retainAll(found.stream().map(HistoryPartition::getTable).collect(Collectors.toSet()));
+        for (HistoryPartition partition : found) {
+            partitions.putIfAbsent(partition.getTable(), partition);
+        }
+        lastDiscovery = System.currentTimeMillis();
+    }
+
+    @Override
+    public ConversionHistory save(ConversionHistory history) {
+        HistoryPartition partition = ensurePartition(history.getTimestamp());
+        jdbcTemplate.update("INSERT INTO " + partition.getTable() + INSERT_COLUMNS, insertArgs(history, providerDictionary));
+        return history;
+    }
+
+    @Override
+    public List<ConversionHistory> saveAll(List<ConversionHistory> histories) {
+        Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+        for (ConversionHistory history : histories) {
+            HistoryPartition partition = ensurePartition(history.getTimestamp());
+            batches.computeIfAbsent(partition.getTable(), table -> new ArrayList<>()).add(insertArgs(history, providerDictionary));
+        }
+        batches.forEach((table, args) -> jdbcTemplate.batchUpdate("INSERT INTO " + table + INSERT_COLUMNS, args));
+        return histories;
+    }
+
+    @Override
+    public Page<ConversionHistory> findByFromCurrencyAndToCurrencyAndTimestampBetween(
+            String fromCurrency,
+            String toCurrency,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        if (System.currentTimeMillis() - lastDiscovery > DISCOVERY_INTERVAL) {
+            // Outros nós podem ter criado partições desde a última verificação
+            discoverPartitions();
+        }
+        List<HistoryPartition> overlapping = partitions.values().stream()
+                .filter(partition -> partition.overlaps(startDate, endDate))
+                .sorted()
+                .collect(Collectors.toList());
+        if (overlapping.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Object[] params = {CurrencyCodeConverter.encode(fromCurrency), CurrencyCodeConverter.encode(toCurrency),
+                Timestamp.valueOf(startDate), Timestamp.valueOf(endDate)};
+        String where = " WHERE from_currency = ? AND to_currency = ? AND timestamp BETWEEN ? AND ?";
+
+        // Contagem de todas as partições em uma única consulta; as vazias ficam fora da consulta dos registros
+        List<Object> countArgs = new ArrayList<>();
+        StringBuilder counts = new StringBuilder();
+        for (int i = 0; i < overlapping.size(); i++) {
+            if (i > 0) {
+                counts.append(" UNION ALL ");
+            }
+            counts.append("SELECT ").append(i).append(" AS p, COUNT(*) AS c FROM ")
+                    .append(overlapping.get(i).getTable()).append(where);
+            countArgs.addAll(List.of(params));
+        }
+        List<Object> args = new ArrayList<>();
+        StringBuilder union = new StringBuilder();
+        long total = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(counts.toString(), countArgs.toArray())) {
+            long count = ((Number) row.get("c")).longValue();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            if (union.length() > 0) {
+                union.append(" UNION ALL ");
+            }
+            HistoryPartition partition = overlapping.get(((Number) row.get("p")).intValue());
+            union.append("SELECT ").append(COLUMNS).append(" FROM ").append(partition.getTable()).append(where);
+            args.addAll(List.of(params));
+        }
+        if (total == 0 || pageable.isPaged() && pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM (").append(union).append(") h ORDER BY ")
+                .append(orderBy(pageable.getSort()));
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ? OFFSET ?");
+            args.add(pageable.getPageSize());
+            args.add(pageable.getOffset());
+        }
+        List<ConversionHistory> content = jdbcTemplate.query(sql.toString(), this::mapRow, args.toArray());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Page<ConversionHistory> findArchived(
+            String fromCurrency,
+            String toCurrency,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        if (archive == null) {
+            return Page.empty(pageable);
+        }
+        return archive.find(fromCurrency, toCurrency, startDate, endDate, pageable);
+    }
+
+    @Override
+    public long purgeBefore(LocalDateTime cutoff) {
+        discoverPartitions();
+        long removed = 0;
+        for (HistoryPartition partition : partitions.values()) {
+            if (!partition.endsBefore(cutoff)) {
+                continue;
+            }
+            try {
+                Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition.getTable(), Long.class);
+                if (archive != null && rows != null && rows > 0 && !archive.contains(partition)) {
+                    archive.write(partition, sink -> jdbcTemplate.query(
+                            "SELECT " + COLUMNS + " FROM " + partition.getTable() + " ORDER BY timestamp",
+                            rs -> {
+                                sink.accept(mapRow(rs, 0));
+                            }));
+                }
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition.getTable());
+                partitions.remove(partition.getTable());
+                removed += rows != null ? rows : 0;
+                log.info("Partição {} removida ({} registros{})", partition.getTable(), rows, archive != null ? ", arquivada" : "");
+            } catch (RuntimeException ex) {
+                // Ex: outro nó removeu a partição ao mesmo tempo; a próxima execução tenta novamente
+                log.warn("Falha ao remover a partição {}: {}", partition.getTable(), ex.getMessage());
+            }
+        }
+        return removed;
+    }
+
+    private HistoryPartition ensurePartition(LocalDateTime timestamp) {
+        HistoryPartition partition = partitioning.partitionFor(timestamp);
+        if (partitions.containsKey(partition.getTable())) {
+            return partition;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition.getTable() + " (" +
+                "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "from_currency SMALLINT NOT NULL, " +
+                "to_currency SMALLINT NOT NULL, " +
+                "amount BIGINT NOT NULL, " +
+                "converted_amount BIGINT NOT NULL, " +
+                "exchange_rate BIGINT NOT NULL, " +
+                "timestamp TIMESTAMP NOT NULL, " +
+                "provider SMALLINT NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_" + partition.getTable() + "_pair ON " +
+                partition.getTable() + " (from_currency, to_currency, timestamp)");
+        partitions.put(partition.getTable(), partition);
+        return partition;
+    }
+
+    /**
+     * Parâmetros de {@link #INSERT_COLUMNS} na codificação compacta dos conversores da entidade.
+     */
+    static Object[] insertArgs(ConversionHistory history, ProviderDictionary providerDictionary) {
+        return new Object[] {
+                CurrencyCodeConverter.encode(history.getFromCurrency()),
+                CurrencyCodeConverter.encode(history.getToCurrency()),
+                ScaledDecimalConverter.encode(history.getAmount()),
+                ScaledDecimalConverter.encode(history.getConvertedAmount()),
+                ScaledDecimalConverter.encode(history.getExchangeRate()),
+                Timestamp.valueOf(history.getTimestamp()),
+                providerDictionary.idOf(history.getProvider())
+        };
+    }
+
+    private ConversionHistory mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ConversionHistory(
+                rs.getLong("id"),
+                CurrencyCodeConverter.decode(rs.getShort("from_currency")),
+                CurrencyCodeConverter.decode(rs.getShort("to_currency")),
+                ScaledDecimalConverter.decode(rs.getLong("amount")),
+                ScaledDecimalConverter.decode(rs.getLong("converted_amount")),
+                ScaledDecimalConverter.decode(rs.getLong("exchange_rate")),
+                rs.getTimestamp("timestamp").toLocalDateTime(),
+                providerDictionary.nameOf(rs.getShort("provider"))
+        );
+    }
+
+    private static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Ordenação não suportada: " + order.getProperty());
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return orders.isEmpty() ? "timestamp ASC" : String.join(", ", orders);
+    }
+}
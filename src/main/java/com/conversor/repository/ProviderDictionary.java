@@ -0,0 +1,97 @@
+package com.conversor.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário de provedores de cotação ({@code history_provider}) usado pela codificação compacta do
+ * histórico. Os poucos nomes existentes ficam em memória; um nome novo é cadastrado em uma conexão
+ * própria, fora da transação de quem grava o histórico, para que o id sobreviva a um rollback dela.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProviderDictionary {
+    private final DataSource dataSource;
+    private final Map<String, Short> ids = new ConcurrentHashMap<>();
+    private final Map<Short, String> names = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS history_provider (" +
+                    "id SMALLINT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE)");
+            try (ResultSet rs = statement.executeQuery("SELECT id, name FROM history_provider")) {
+                while (rs.next()) {
+                    ids.put(rs.getString("name"), rs.getShort("id"));
+                    names.put(rs.getShort("id"), rs.getString("name"));
+                }
+            }
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("Falha ao carregar o dicionário de provedores", ex);
+        }
+    }
+
+    public short idOf(String name) {
+        Short id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    public String nameOf(short id) {
+        String name = names.get(id);
+        if (name == null) {
+            // Cadastrado por outro nó depois da carga
+            load();
+            name = names.get(id);
+        }
+        if (name == null) {
+            throw new IllegalStateException("Provedor desconhecido no histórico: " + id);
+        }
+        return name;
+    }
+
+    private synchronized short register(String name) {
+        Short existing = ids.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO history_provider (id, name) " +
+                        "SELECT COALESCE(MAX(id), 0) + 1, ? FROM history_provider")) {
+                    insert.setString(1, name);
+                    insert.executeUpdate();
+                } catch (SQLException ex) {
+                    if (ex.getSQLState() == null || !ex.getSQLState().startsWith("23")) {
+                        throw ex;
+                    }
+                    // Violação de chave: outro nó cadastrou o mesmo nome ou usou o mesmo id; recarrega e tenta de novo
+                    log.debug("Conflito ao cadastrar o provedor {} (tentativa {}): {}", name, attempt + 1, ex.getMessage());
+                }
+            } catch (SQLException ex) {
+                throw new DataAccessResourceFailureException("Falha ao cadastrar o provedor " + name, ex);
+            }
+            load();
+            existing = ids.get(name);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        throw new IllegalStateException("Não foi possível cadastrar o provedor " + name);
+    }
+}
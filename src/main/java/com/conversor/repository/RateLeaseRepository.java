@@ -0,0 +1,24 @@
+package com.conversor.repository;
+
+import com.conversor.model.RateLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RateLeaseRepository extends JpaRepository<RateLease, String> {
+    @Transactional
+    @Modifying
+    @Query("update RateLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+           "where l.base = :base and (l.expiresAt < :now or l.owner = :owner)")
+    int acquire(@Param("base") String base, @Param("owner") String owner,
+                @Param("now") long now, @Param("expiresAt") long expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update RateLease l set l.expiresAt = 0 where l.base = :base and l.owner = :owner")
+    int release(@Param("base") String base, @Param("owner") String owner);
+}
@@ -0,0 +1,42 @@
+package com.conversor.repository;
+
+import com.conversor.model.RateSnapshotEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface RateSnapshotEntryRepository extends JpaRepository<RateSnapshotEntry, String> {
+    @Query("select s.version from RateSnapshotEntry s where s.base = :base")
+    Optional<Long> findVersionByBase(@Param("base") String base);
+
+    /**
+     * Grava novas taxas incrementando a versão no próprio banco, sem ler e regravar o valor.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RateSnapshotEntry s set s.version = s.version + 1, s.fetchedAt = :fetchedAt, s.rates = :rates " +
+           "where s.base = :base")
+    int publish(@Param("base") String base, @Param("fetchedAt") long fetchedAt, @Param("rates") String rates);
+
+    /**
+     * Cria o snapshot com a versão 1 em uma transação própria: se outro nó inserir a mesma moeda ao mesmo
+     * tempo, a violação da chave primária não invalida a transação de quem chamou.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "insert into rate_snapshot (base, version, fetched_at, rates) values (:base, 1, :fetchedAt, :rates)",
+           nativeQuery = true)
+    int insertFirst(@Param("base") String base, @Param("fetchedAt") long fetchedAt, @Param("rates") String rates);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RateSnapshotEntry s set s.version = s.version + 1, s.rates = null where s.base = :base")
+    int remove(@Param("base") String base);
+}
@@ -0,0 +1,225 @@
+package com.conversor.service;
+
+import com.conversor.dto.PairStatistics;
+import com.conversor.model.RegisteredCurrency;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estatísticas em memória das conversões por par de moedas, alimentadas por {@link ExchangeRateService#convert}.
+ *
+ * <p>Os pares são indexados pelos ordinais densos do {@link CurrencyRegistry} ({@code origem * n + destino}),
+ * então o espaço de chaves é limitado e os contadores são exatos: um {@link LongAdder} por par, criado no
+ * primeiro uso. Histogramas de valor (décadas) e latência (potências de 2 em µs) têm buckets fixos e só são
+ * mantidos para os primeiros {@code analytics.max-tracked-pairs} pares; os demais têm apenas o contador.
+ * O caminho de escrita não usa locks; o top-N é calculado na leitura.</p>
+ */
+@Component
+public class ConversionAnalytics {
+    private static final int AMOUNT_BUCKETS = 16;   // [0, 0,1), [0,1, 1), [1, 10) ... [10^12, ∞)
+    private static final int LATENCY_BUCKETS = 32;  // [0, 1µs), [1, 2µs), [2, 4µs) ... [2^30µs, ∞)
+
+    private final CurrencyRegistry currencyRegistry;
+    private final boolean enabled;
+    private final int maxTrackedPairs;
+    private final int topN;
+    private final int currencies;
+    private final AtomicReferenceArray<PairStats> pairs;
+    private final AtomicInteger trackedPairs = new AtomicInteger();
+    private final LongAdder total = new LongAdder();
+    private final MultiGauge topPairsGauge;
+
+    public ConversionAnalytics(CurrencyRegistry currencyRegistry,
+                               MeterRegistry meterRegistry,
+                               @Value("${analytics.enabled:true}") boolean enabled,
+                               @Value("${analytics.max-tracked-pairs:1000}") int maxTrackedPairs,
+                               @Value("${analytics.top-pairs:10}") int topN) {
+        this.currencyRegistry = currencyRegistry;
+        this.enabled = enabled;
+        this.maxTrackedPairs = maxTrackedPairs;
+        this.topN = topN;
+        this.currencies = currencyRegistry.size();
+        this.pairs = new AtomicReferenceArray<>(enabled ? currencies * currencies : 0);
+
+        FunctionCounter.builder("conversion.analytics.total", total, LongAdder::sum)
+                .description("Conversões registradas pelas estatísticas em memória")
+                .register(meterRegistry);
+        Gauge.builder("conversion.analytics.tracked.pairs", trackedPairs, AtomicInteger::get)
+                .description("Pares de moedas com histogramas em memória")
+                .register(meterRegistry);
+        this.topPairsGauge = MultiGauge.builder("conversion.analytics.pair.count")
+                .description("Conversões dos pares mais frequentes")
+                .register(meterRegistry);
+    }
+
+    public void record(String fromCurrency, String toCurrency, BigDecimal amount, long latencyNanos) {
+        if (!enabled) {
+            return;
+        }
+        int index = currencyRegistry.resolve(fromCurrency).getOrdinal() * currencies
+                + currencyRegistry.resolve(toCurrency).getOrdinal();
+        PairStats stats = pairs.get(index);
+        if (stats == null) {
+            stats = track(index);
+        }
+        stats.count.increment();
+        total.increment();
+        if (stats.histograms != null) {
+            stats.histograms.record(amount, latencyNanos);
+        }
+    }
+
+    public List<PairStatistics> topPairs(int limit) {
+        // Contagens copiadas antes de entrar no heap: os LongAdders continuam mudando durante a varredura
+        PriorityQueue<long[]> top = new PriorityQueue<>(limit + 1, (a, b) -> Long.compare(a[0], b[0]));
+        for (int i = 0; i < pairs.length(); i++) {
+            PairStats stats = pairs.get(i);
+            if (stats == null) {
+                continue;
+            }
+            top.offer(new long[] {stats.count.sum(), i});
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<PairStatistics> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            long[] entry = top.poll();
+            int index = (int) entry[1];
+            RegisteredCurrency from = currencyRegistry.get(index / currencies);
+            RegisteredCurrency to = currencyRegistry.get(index % currencies);
+            Histograms histograms = pairs.get(index).histograms;
+            result.add(0, new PairStatistics(
+                    from.getCode(),
+                    to.getCode(),
+                    entry[0],
+                    histograms != null ? histograms.amountDistribution() : null,
+                    histograms != null ? histograms.latencyPercentileMicros(0.50) : null,
+                    histograms != null ? histograms.latencyPercentileMicros(0.99) : null
+            ));
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.gauge-refresh-interval:15000}")
+    public void refreshGauges() {
+        if (!enabled) {
+            return;
+        }
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        for (PairStatistics pair : topPairs(topN)) {
+            rows.add(MultiGauge.Row.of(Tags.of("from", pair.getFrom(), "to", pair.getTo()), pair.getCount()));
+        }
+        topPairsGauge.register(rows, true);
+    }
+
+    private PairStats track(int index) {
+        boolean withHistograms = trackedPairs.incrementAndGet() <= maxTrackedPairs;
+        if (!withHistograms) {
+            trackedPairs.decrementAndGet();
+        }
+        PairStats created = new PairStats(withHistograms ? new Histograms() : null);
+        if (pairs.compareAndSet(index, null, created)) {
+            return created;
+        }
+        if (withHistograms) {
+            trackedPairs.decrementAndGet();
+        }
+        return pairs.get(index);
+    }
+
+    private static final class PairStats {
+        private final LongAdder count = new LongAdder();
+        private final Histograms histograms;
+
+        private PairStats(Histograms histograms) {
+            this.histograms = histograms;
+        }
+    }
+
+    private static final class Histograms {
+        private final AtomicLongArray amounts = new AtomicLongArray(AMOUNT_BUCKETS);
+        private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS);
+
+        private void record(BigDecimal amount, long latencyNanos) {
+            amounts.incrementAndGet(amountBucket(amount));
+            latencies.incrementAndGet(latencyBucket(latencyNanos));
+        }
+
+        private Map<String, Long> amountDistribution() {
+            Map<String, Long> distribution = new LinkedHashMap<>();
+            for (int i = 0; i < AMOUNT_BUCKETS; i++) {
+                long count = amounts.get(i);
+                if (count > 0) {
+                    distribution.put(amountBucketLabel(i), count);
+                }
+            }
+            return distribution;
+        }
+
+        private Long latencyPercentileMicros(double percentile) {
+            long count = 0;
+            for (int i = 0; i < LATENCY_BUCKETS; i++) {
+                count += latencies.get(i);
+            }
+            if (count == 0) {
+                return null;
+            }
+            long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+            for (int i = 0; i < LATENCY_BUCKETS; i++) {
+                seen += latencies.get(i);
+                if (seen >= rank) {
+                    return 1L << i; // limite superior do bucket
+                }
+            }
+            return 1L << (LATENCY_BUCKETS - 1);
+        }
+    }
+
+    /**
+     * Década do valor: bucket 0 = [0, 0,1), 1 = [0,1, 1), 2 = [1, 10) ... 15 = [10^12, ∞).
+     */
+    static int amountBucket(BigDecimal amount) {
+        if (amount.signum() == 0) {
+            return 0;
+        }
+        int integerDigits = amount.precision() - amount.scale(); // floor(log10(|amount|)) + 1
+        return Math.max(0, Math.min(AMOUNT_BUCKETS - 1, integerDigits + 1));
+    }
+
+    static int latencyBucket(long latencyNanos) {
+        long micros = latencyNanos / 1000;
+        return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    private static String amountBucketLabel(int bucket) {
+        if (bucket == 0) {
+            return "<0.1";
+        }
+        if (bucket == AMOUNT_BUCKETS - 1) {
+            return ">=" + BigDecimal.ONE.scaleByPowerOfTen(AMOUNT_BUCKETS - 3).toPlainString();
+        }
+        BigDecimal lower = BigDecimal.ONE.scaleByPowerOfTen(bucket - 2);
+        BigDecimal upper = BigDecimal.ONE.scaleByPowerOfTen(bucket - 1);
+        return lower.toPlainString() + "-" + upper.toPlainString();
+    }
+}
@@ -0,0 +1,168 @@
+package com.conversor.service;
+
+import com.conversor.exception.CurrencyNotFoundException;
+import com.conversor.model.Currency;
+import com.conversor.model.RegisteredCurrency;
+import com.conversor.repository.CurrencyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registro em memória das moedas suportadas, carregado uma única vez da tabela {@code currencies}.
+ * Valida e normaliza códigos antes de qualquer acesso ao cache ou à API externa e mantém um cache
+ * negativo (limitado ao tamanho do registro) para moedas base que a API externa rejeitou (404).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CurrencyRegistry {
+    private final CurrencyRepository currencyRepository;
+
+    @Value("${currency-registry.negative-cache-ttl:600000}")
+    private long negativeCacheTtl;
+
+    private volatile Table table = new Table(List.of());
+
+    @PostConstruct
+    public void load() {
+        List<Currency> currencies = currencyRepository.findByActiveTrue();
+        if (currencies.isEmpty() && currencyRepository.count() == 0) {
+            currencies = currencyRepository.saveAll(isoCurrencies());
+            log.info("Tabela de moedas vazia; {} moedas ISO 4217 cadastradas a partir do JDK", currencies.size());
+        }
+        table = new Table(currencies);
+        log.info("Registro de moedas carregado com {} moedas ativas", table.byOrdinal.length);
+    }
+
+    /**
+     * Resolve um código informado pelo cliente (ex: "usd", " BRL") para a moeda registrada.
+     */
+    public RegisteredCurrency resolve(String code) {
+        Table current = table;
+        if (code == null) {
+            throw new CurrencyNotFoundException(null);
+        }
+        RegisteredCurrency currency = current.byCode.get(code);
+        if (currency == null) {
+            String normalized = normalize(code);
+            currency = normalized != null ? current.byCode.get(normalized) : null;
+        }
+        if (currency == null) {
+            throw new CurrencyNotFoundException(code);
+        }
+        return currency;
+    }
+
+    /**
+     * Igual a {@link #resolve(String)}, mas também falha se a moeda foi rejeitada recentemente pela API externa
+     * como moeda base. Use apenas para moedas base; moedas de destino são validadas contra a tabela de taxas.
+     */
+    public RegisteredCurrency require(String code) {
+        RegisteredCurrency currency = resolve(code);
+        if (isRejected(currency)) {
+            throw new CurrencyNotFoundException(currency.getCode());
+        }
+        return currency;
+    }
+
+    public boolean isRejected(RegisteredCurrency currency) {
+        long until = table.rejectedUntil.get(currency.getOrdinal());
+        return until != 0 && System.currentTimeMillis() < until;
+    }
+
+    public void markRejected(RegisteredCurrency currency) {
+        table.rejectedUntil.set(currency.getOrdinal(), System.currentTimeMillis() + negativeCacheTtl);
+        log.debug("Moeda {} rejeitada pela API externa; ignorada por {} ms", currency.getCode(), negativeCacheTtl);
+    }
+
+    public RegisteredCurrency get(int ordinal) {
+        return table.byOrdinal[ordinal];
+    }
+
+    public int size() {
+        return table.byOrdinal.length;
+    }
+
+    public List<RegisteredCurrency> getCurrencies() {
+        return table.sorted;
+    }
+
+    static String normalize(String code) {
+        String trimmed = code.trim();
+        if (trimmed.length() != 3) {
+            return null;
+        }
+        char[] chars = new char[3];
+        for (int i = 0; i < 3; i++) {
+            char c = trimmed.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                c = (char) (c - ('a' - 'A'));
+            } else if (c < 'A' || c > 'Z') {
+                return null;
+            }
+            chars[i] = c;
+        }
+        return new String(chars);
+    }
+
+    private static List<Currency> isoCurrencies() {
+        List<Currency> currencies = new ArrayList<>();
+        for (java.util.Currency iso : java.util.Currency.getAvailableCurrencies()) {
+            currencies.add(new Currency(
+                    iso.getCurrencyCode(),
+                    iso.getDisplayName(Locale.ENGLISH),
+                    iso.getSymbol(Locale.US),
+                    true
+            ));
+        }
+        return currencies;
+    }
+
+    private static final class Table {
+        private final Map<String, RegisteredCurrency> byCode;
+        private final RegisteredCurrency[] byOrdinal;
+        private final List<RegisteredCurrency> sorted;
+        private final AtomicLongArray rejectedUntil;
+
+        private Table(List<Currency> currencies) {
+            List<Currency> ordered = new ArrayList<>();
+            for (Currency currency : currencies) {
+                String code = currency.getCode() != null ? normalize(currency.getCode()) : null;
+                if (code == null) {
+                    log.warn("Código de moeda inválido ignorado no registro: {}", currency.getCode());
+                    continue;
+                }
+                ordered.add(new Currency(code, currency.getName(), currency.getSymbol(), currency.isActive()));
+            }
+            ordered.sort(Comparator.comparing(Currency::getCode));
+
+            Map<String, RegisteredCurrency> codes = new HashMap<>();
+            List<RegisteredCurrency> interned = new ArrayList<>();
+            for (Currency currency : ordered) {
+                if (codes.containsKey(currency.getCode())) {
+                    continue;
+                }
+                RegisteredCurrency registered = new RegisteredCurrency(
+                        interned.size(), currency.getCode().intern(), currency.getName(), currency.getSymbol());
+                codes.put(registered.getCode(), registered);
+                interned.add(registered);
+            }
+
+            this.byCode = Map.copyOf(codes);
+            this.byOrdinal = interned.toArray(new RegisteredCurrency[0]);
+            this.sorted = List.copyOf(interned);
+            this.rejectedUntil = new AtomicLongArray(byOrdinal.length);
+        }
+    }
+}
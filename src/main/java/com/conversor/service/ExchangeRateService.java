@@ -1,11 +1,18 @@
 package com.conversor.service;
 
+import com.conversor.cache.TwoTierRateCache;
+import com.conversor.config.CacheConfig;
 import com.conversor.dto.ConversionResponse;
+import com.conversor.dto.MultiConversionResponse;
 import com.conversor.model.ConversionHistory;
-import com.conversor.repository.ConversionHistoryRepository;
+import com.conversor.model.RegisteredCurrency;
+import com.conversor.repository.ConversionHistoryStore;
+import com.conversor.timing.Stage;
+import com.conversor.timing.StageTimer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,13 +28,26 @@ import com.conversor.exception.ExternalApiException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ExchangeRateService {
+    public static final String ALL_TARGETS = "all";
+    private static final int MAX_TARGETS = 200;
+
     private final RestTemplate restTemplate;
-    private final ConversionHistoryRepository conversionHistoryRepository;
+    private final ConversionHistoryStore conversionHistoryStore;
+    private final CurrencyRegistry currencyRegistry;
+    private final CacheManager cacheManager;
+    private final ConversionAnalytics conversionAnalytics;
+    private final StageTimer stageTimer;
 
     @Value("${exchange-rate.api.base-url}")
     private String baseUrl;
@@ -35,16 +55,64 @@ public class ExchangeRateService {
     @Value("${exchange-rate.api.provider}")
     private String provider;
 
-    @Cacheable(value = "exchangeRates", key = "#fromCurrency")
+    /**
+     * Acessa o cache programaticamente (em vez de {@code @Cacheable}) para que chamadas internas,
+     * como as de {@link #convert}, também sejam servidas do cache.
+     */
     public Map<String, BigDecimal> getExchangeRates(String fromCurrency) {
-        String url = baseUrl + "/" + fromCurrency;
+        RegisteredCurrency base = currencyRegistry.require(fromCurrency);
+        Cache cache = cacheManager.getCache(CacheConfig.EXCHANGE_RATES);
+        boolean[] loaded = {false};
+        long start = stageTimer.start();
         try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
+            return cache.get(base.getCode(), () -> {
+                loaded[0] = true;
+                return fetchExchangeRates(base);
+            });
+        } catch (Cache.ValueRetrievalException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        } finally {
+            stageTimer.stop(loaded[0] ? Stage.CACHE_MISS : Stage.CACHE_HIT, start);
+        }
+    }
+
+    /**
+     * Indica se as taxas da moeda base podem ser servidas do cache, sem consultar a API externa. Com o
+     * cache em dois níveis, consulta só a memória local: é chamado no controle de sobrecarga e não deve
+     * acessar o banco.
+     */
+    public boolean hasCachedRates(String fromCurrency) {
+        RegisteredCurrency base;
+        try {
+            base = currencyRegistry.require(fromCurrency);
+        } catch (CurrencyNotFoundException ex) {
+            return false;
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.EXCHANGE_RATES);
+        if (cache instanceof TwoTierRateCache twoTier) {
+            return twoTier.isCachedLocally(base.getCode());
+        }
+        return cache.get(base.getCode()) != null;
+    }
+
+    private Map<String, BigDecimal> fetchExchangeRates(RegisteredCurrency base) {
+        String url = baseUrl + "/" + base.getCode();
+        long start = stageTimer.start();
+        try {
+            ResponseEntity<Map<String, Object>> response;
+            try {
+                response = restTemplate.exchange(
+                        url,
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<Map<String, Object>>() {}
+                );
+            } finally {
+                stageTimer.stop(Stage.UPSTREAM, start);
+            }
 
             Map<String, Object> responseBody = response.getBody();
 
@@ -52,16 +120,26 @@ public class ExchangeRateService {
                 throw new ExternalApiException("Resposta inválida da API externa");
             }
 
-            @SuppressWarnings("unchecked")
-            Map<String, BigDecimal> rates = (Map<String, BigDecimal>) responseBody.get("rates");
-
-            if (rates == null || rates.isEmpty()) {
+            if (!(responseBody.get("rates") instanceof Map<?, ?> rawRates) || rawRates.isEmpty()) {
                  throw new ExternalApiException("Taxas de câmbio não encontradas na resposta da API externa");
             }
 
+            // O Jackson desserializa os números como Double/Integer; normaliza para BigDecimal
+            // para que todos os nós compartilhem exatamente a mesma tabela no cache.
+            Map<String, BigDecimal> rates = new HashMap<>(rawRates.size() * 2);
+            for (Map.Entry<?, ?> entry : rawRates.entrySet()) {
+                Object value = entry.getValue();
+                if (value instanceof BigDecimal decimal) {
+                    rates.put(entry.getKey().toString(), decimal);
+                } else if (value instanceof Number number) {
+                    rates.put(entry.getKey().toString(), new BigDecimal(number.toString()));
+                }
+            }
+
             return rates;
         } catch (HttpClientErrorException.NotFound ex) {
-            throw new CurrencyNotFoundException(fromCurrency);
+            currencyRegistry.markRejected(base);
+            throw new CurrencyNotFoundException(base.getCode());
         } catch (HttpClientErrorException | HttpServerErrorException ex) {
             throw new ExternalApiException("Erro ao chamar a API externa: " + ex.getStatusCode(), ex);
         } catch (Exception ex) {
@@ -70,6 +148,105 @@ public class ExchangeRateService {
     }
 
     public ConversionResponse convert(String fromCurrency, String toCurrency, BigDecimal amount) {
+        long start = System.nanoTime();
+        ConversionResponse response = quote(fromCurrency, toCurrency, amount);
+
+        ConversionHistory history = new ConversionHistory(
+                null,
+                response.getFrom(),
+                response.getTo(),
+                response.getAmount(),
+                response.getConvertedAmount(),
+                response.getExchangeRate(),
+                response.getTimestamp(),
+                response.getProvider()
+        );
+        long persistStart = stageTimer.start();
+        conversionHistoryStore.save(history);
+        stageTimer.stop(Stage.PERSIST, persistStart);
+        conversionAnalytics.record(response.getFrom(), response.getTo(), response.getAmount(), System.nanoTime() - start);
+
+        return response;
+    }
+
+    /**
+     * Converte o valor para várias moedas de destino (ou para todas, com {@link #ALL_TARGETS}) a partir de
+     * uma única tabela de taxas, gravando o histórico em um só lote.
+     */
+    public MultiConversionResponse convertMany(String fromCurrency, List<String> toCurrencies, BigDecimal amount) {
+        long start = System.nanoTime();
+        RegisteredCurrency source = currencyRegistry.require(fromCurrency);
+        Map<String, BigDecimal> rates = getExchangeRates(source.getCode());
+
+        long computeStart = stageTimer.start();
+        Map<String, BigDecimal> conversions = new LinkedHashMap<>();
+        Map<String, BigDecimal> appliedRates = new LinkedHashMap<>();
+        for (RegisteredCurrency target : resolveTargets(source, toCurrencies, rates)) {
+            BigDecimal rate = rates.get(target.getCode());
+            if (rate == null) {
+                throw new CurrencyNotFoundException(target.getCode());
+            }
+            conversions.put(target.getCode(), amount.multiply(rate).setScale(6, RoundingMode.HALF_UP));
+            appliedRates.put(target.getCode(), rate);
+        }
+        stageTimer.stop(Stage.COMPUTE, computeStart);
+
+        LocalDateTime timestamp = LocalDateTime.now();
+        List<ConversionHistory> histories = new ArrayList<>(conversions.size());
+        conversions.forEach((target, convertedAmount) -> histories.add(new ConversionHistory(
+                null,
+                source.getCode(),
+                target,
+                amount,
+                convertedAmount,
+                appliedRates.get(target),
+                timestamp,
+                provider
+        )));
+        long persistStart = stageTimer.start();
+        conversionHistoryStore.saveAll(histories);
+        stageTimer.stop(Stage.PERSIST, persistStart);
+
+        // Cada par recebe a sua parte da latência da requisição, não o tempo de todos os destinos
+        long latencyPerPair = (System.nanoTime() - start) / Math.max(1, conversions.size());
+        for (String target : conversions.keySet()) {
+            conversionAnalytics.record(source.getCode(), target, amount, latencyPerPair);
+        }
+
+        return new MultiConversionResponse(source.getCode(), amount, conversions, appliedRates, timestamp, provider);
+    }
+
+    private List<RegisteredCurrency> resolveTargets(RegisteredCurrency source, List<String> toCurrencies,
+                                                    Map<String, BigDecimal> rates) {
+        if (toCurrencies.size() == 1 && ALL_TARGETS.equalsIgnoreCase(toCurrencies.get(0).trim())) {
+            List<RegisteredCurrency> targets = new ArrayList<>();
+            for (RegisteredCurrency currency : currencyRegistry.getCurrencies()) {
+                if (!currency.equals(source) && rates.containsKey(currency.getCode())) {
+                    targets.add(currency);
+                }
+            }
+            return targets;
+        }
+        if (toCurrencies.isEmpty() || toCurrencies.size() > MAX_TARGETS) {
+            throw new IllegalArgumentException("Informe de 1 a " + MAX_TARGETS + " moedas de destino");
+        }
+        Set<RegisteredCurrency> targets = new LinkedHashSet<>();
+        for (String toCurrency : toCurrencies) {
+            targets.add(currencyRegistry.resolve(toCurrency));
+        }
+        return new ArrayList<>(targets);
+    }
+
+    /**
+     * Calcula a conversão sem registrá-la no histórico (usado também pelo aquecimento na inicialização).
+     */
+    public ConversionResponse quote(String fromCurrency, String toCurrency, BigDecimal amount) {
+        RegisteredCurrency source = currencyRegistry.require(fromCurrency);
+        // O cache negativo vale só para moedas base: a falta de uma taxa em uma tabela não diz nada sobre as demais
+        RegisteredCurrency target = currencyRegistry.resolve(toCurrency);
+        fromCurrency = source.getCode();
+        toCurrency = target.getCode();
+
         Map<String, BigDecimal> rates = getExchangeRates(fromCurrency);
         BigDecimal rate = rates.get(toCurrency);
 
@@ -77,10 +254,11 @@ public class ExchangeRateService {
             throw new CurrencyNotFoundException(toCurrency);
         }
 
+        long computeStart = stageTimer.start();
         BigDecimal convertedAmount = amount.multiply(rate).setScale(6, RoundingMode.HALF_UP);
+        stageTimer.stop(Stage.COMPUTE, computeStart);
 
-        ConversionHistory history = new ConversionHistory(
-                null,
+        return new ConversionResponse(
                 fromCurrency,
                 toCurrency,
                 amount,
@@ -89,28 +267,32 @@ public class ExchangeRateService {
                 LocalDateTime.now(),
                 provider
         );
-        conversionHistoryRepository.save(history);
+    }
 
-        return new ConversionResponse(
-                fromCurrency,
-                toCurrency,
-                amount,
-                convertedAmount,
-                rate,
-                history.getTimestamp(),
-                provider
+    public Page<ConversionHistory> getConversionHistory(
+            String fromCurrency,
+            String toCurrency,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        return conversionHistoryStore.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+                currencyRegistry.resolve(fromCurrency).getCode(),
+                currencyRegistry.resolve(toCurrency).getCode(),
+                startDate,
+                endDate,
+                pageable
         );
     }
 
-    public Page<ConversionHistory> getConversionHistory(
+    public Page<ConversionHistory> getArchivedConversionHistory(
             String fromCurrency,
             String toCurrency,
             LocalDateTime startDate,
             LocalDateTime endDate,
             Pageable pageable) {
-        return conversionHistoryRepository.findByFromCurrencyAndToCurrencyAndTimestampBetween(
-                fromCurrency,
-                toCurrency,
+        return conversionHistoryStore.findArchived(
+                currencyRegistry.resolve(fromCurrency).getCode(),
+                currencyRegistry.resolve(toCurrency).getCode(),
                 startDate,
                 endDate,
                 pageable
@@ -0,0 +1,34 @@
+package com.conversor.service;
+
+import com.conversor.repository.ConversionHistoryStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Remove periodicamente o histórico mais antigo que {@code history.retention.days} (0 desabilita).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HistoryRetentionJob {
+    private final ConversionHistoryStore conversionHistoryStore;
+
+    @Value("${history.retention.days:0}")
+    private int retentionDays;
+
+    @Scheduled(cron = "${history.retention.cron:0 15 3 * * *}")
+    public void purge() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        long removed = conversionHistoryStore.purgeBefore(cutoff);
+        log.info("Retenção do histórico: {} registros anteriores a {} removidos", removed, cutoff);
+    }
+}
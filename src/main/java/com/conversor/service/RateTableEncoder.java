@@ -0,0 +1,56 @@
+package com.conversor.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tabelas de taxas já codificadas em CBOR, uma por moeda base.
+ *
+ * <p>O cache de taxas entrega a mesma instância imutável do mapa enquanto o snapshot não muda, então a
+ * codificação é reaproveitada enquanto a instância recebida for a mesma da última codificação; um novo
+ * snapshot gera um novo mapa e, portanto, uma nova codificação.</p>
+ */
+@Component
+public class RateTableEncoder {
+    private final ObjectMapper cborMapper;
+    private final ConcurrentMap<String, EncodedRates> encoded = new ConcurrentHashMap<>();
+
+    public RateTableEncoder(MappingJackson2CborHttpMessageConverter cborHttpMessageConverter) {
+        this.cborMapper = cborHttpMessageConverter.getObjectMapper();
+    }
+
+    /**
+     * O array retornado é compartilhado entre as requisições e não deve ser alterado.
+     */
+    public byte[] encode(String base, Map<String, BigDecimal> rates) {
+        String key = CurrencyRegistry.normalize(base);
+        EncodedRates current = encoded.get(key);
+        if (current != null && current.rates == rates) {
+            return current.bytes;
+        }
+        try {
+            byte[] bytes = cborMapper.writeValueAsBytes(rates);
+            encoded.put(key, new EncodedRates(rates, bytes));
+            return bytes;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao codificar as taxas de " + key + " em CBOR", ex);
+        }
+    }
+
+    private static final class EncodedRates {
+        private final Map<String, BigDecimal> rates;
+        private final byte[] bytes;
+
+        private EncodedRates(Map<String, BigDecimal> rates, byte[] bytes) {
+            this.rates = rates;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.conversor.service;
+
+import com.conversor.dto.ConversionResponse;
+import com.conversor.exception.CurrencyNotFoundException;
+import com.conversor.exception.ExternalApiException;
+import com.conversor.timing.StageTimer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aquece a aplicação antes de ela aceitar tráfego: carrega no cache as taxas das moedas base configuradas
+ * e executa conversões sintéticas (cálculo + serialização JSON) para que o JIT compile o caminho quente.
+ *
+ * <p>Roda como {@link ApplicationRunner}, ou seja, depois de o servidor web subir e antes de o Spring Boot
+ * publicar {@link ReadinessState#ACCEPTING_TRAFFIC}; durante o aquecimento o probe de readiness responde
+ * {@code OUT_OF_SERVICE}. Se a API externa não responder dentro de {@code startup.warmup.timeout}, a
+ * aplicação fica pronta mesmo assim, com o cache parcialmente aquecido.</p>
+ *
+ * <p>As chamadas do aquecimento não entram no timer {@code conversion.stage}, que reflete só o tráfego real.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupWarmup implements ApplicationRunner {
+    private final ExchangeRateService exchangeRateService;
+    private final CurrencyRegistry currencyRegistry;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final StageTimer stageTimer;
+
+    @Value("${startup.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${startup.warmup.base-currencies:USD}")
+    private List<String> baseCurrencies;
+
+    @Value("${startup.warmup.iterations:5000}")
+    private int iterations;
+
+    @Value("${startup.warmup.timeout:60000}")
+    private long timeout;
+
+    @Value("${startup.warmup.retry-interval:2000}")
+    private long retryInterval;
+
+    private volatile double timeToReadyMillis = Double.NaN;
+
+    @PostConstruct
+    void registerMetrics() {
+        TimeGauge.builder("application.time-to-ready", this, TimeUnit.MILLISECONDS, warmup -> warmup.timeToReadyMillis)
+                .description("Tempo entre o início da JVM e a aplicação aceitar tráfego")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        List<String[]> pairs = new ArrayList<>();
+        int loaded = 0;
+        for (String base : baseCurrencies) {
+            Map<String, BigDecimal> rates = stageTimer.untimed(() -> prewarm(base, deadline));
+            if (rates != null) {
+                loaded++;
+                String code = currencyRegistry.resolve(base).getCode();
+                for (String target : baseCurrencies) {
+                    pairs.add(new String[] {code, target});
+                }
+                exchangeRateService.getConversionHistory(code, code,
+                        LocalDateTime.now().minusDays(1), LocalDateTime.now(), PageRequest.of(0, 1));
+            }
+        }
+
+        int executed = pairs.isEmpty() ? 0 : stageTimer.untimed(() -> warmUpConversions(pairs));
+        long elapsed = sample.stop(meterRegistry.timer("application.warmup"));
+        log.info("Aquecimento concluído em {} ms ({} bases no cache, {} conversões sintéticas)",
+                TimeUnit.NANOSECONDS.toMillis(elapsed), loaded, executed);
+    }
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && Double.isNaN(timeToReadyMillis)) {
+            timeToReadyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            log.info("Aplicação pronta para receber tráfego {} ms após o início da JVM", (long) timeToReadyMillis);
+        }
+    }
+
+    private Map<String, BigDecimal> prewarm(String base, long deadline) {
+        while (true) {
+            try {
+                return exchangeRateService.getExchangeRates(base);
+            } catch (CurrencyNotFoundException ex) {
+                log.warn("Moeda base {} ignorada no aquecimento: {}", base, ex.getMessage());
+                return null;
+            } catch (ExternalApiException ex) {
+                if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryInterval) > deadline) {
+                    log.warn("Tempo de aquecimento esgotado; seguindo sem taxas de {} no cache", base);
+                    return null;
+                }
+                log.info("Falha ao carregar taxas de {} ({}); nova tentativa em {} ms", base, ex.getMessage(), retryInterval);
+                try {
+                    Thread.sleep(retryInterval);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+    }
+
+    private int warmUpConversions(List<String[]> pairs) {
+        int executed = 0;
+        for (int i = 0; i < iterations; i++) {
+            String[] pair = pairs.get(i % pairs.size());
+            try {
+                ConversionResponse response = exchangeRateService.quote(pair[0], pair[1], BigDecimal.valueOf(i + 1, 2));
+                objectMapper.writeValueAsBytes(response);
+                objectMapper.writeValueAsBytes(exchangeRateService.getExchangeRates(pair[0]));
+                executed++;
+            } catch (CurrencyNotFoundException | ExternalApiException | JsonProcessingException ex) {
+                log.debug("Par {}->{} ignorado no aquecimento: {}", pair[0], pair[1], ex.getMessage());
+            }
+        }
+        return executed;
+    }
+}
@@ -0,0 +1,70 @@
+package com.conversor.timing;
+
+import java.util.Locale;
+
+/**
+ * Tempos acumulados por etapa em uma requisição. Pertence a uma única thread (ver {@link StageTimer}).
+ */
+public class RequestTimings {
+    private static final Stage[] STAGES = Stage.values();
+
+    private final long startNanos;
+    private final long[] durations = new long[STAGES.length];
+    private final int[] counts = new int[STAGES.length];
+
+    RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    void add(Stage stage, long nanos) {
+        durations[stage.ordinal()] += nanos;
+        counts[stage.ordinal()]++;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Valor do cabeçalho {@code Server-Timing}, ex.: {@code cache;desc="miss";dur=120.4, upstream;dur=118.9, total;dur=125.0}.
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Stage stage : STAGES) {
+            if (counts[stage.ordinal()] == 0) {
+                continue;
+            }
+            header.append(stage.getMetricName());
+            if (stage.getOutcome() != null) {
+                header.append(";desc=\"").append(stage.getOutcome()).append('"');
+            }
+            header.append(";dur=").append(millis(durations[stage.ordinal()])).append(", ");
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    /**
+     * Resumo para o log de requisições lentas, ex.: {@code cache-miss=120.4ms upstream=118.9ms persist=2.1ms}.
+     */
+    public String describe() {
+        StringBuilder summary = new StringBuilder(96);
+        for (Stage stage : STAGES) {
+            if (counts[stage.ordinal()] == 0) {
+                continue;
+            }
+            if (summary.length() > 0) {
+                summary.append(' ');
+            }
+            summary.append(stage.getMetricName());
+            if (stage.getOutcome() != null) {
+                summary.append('-').append(stage.getOutcome());
+            }
+            summary.append('=').append(millis(durations[stage.ordinal()])).append("ms");
+        }
+        return summary.length() > 0 ? summary.toString() : "sem etapas medidas";
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,38 @@
+package com.conversor.timing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adiciona o cabeçalho {@code Server-Timing} antes de o corpo ser escrito (depois disso a resposta já
+ * foi enviada e o cabeçalho não pode mais ser alterado).
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final StageTimer stageTimer;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return stageTimer.isEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = stageTimer.current();
+        if (timings != null) {
+            response.getHeaders().set(SERVER_TIMING, timings.toServerTiming());
+        }
+        return body;
+    }
+}
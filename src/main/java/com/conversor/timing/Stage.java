@@ -0,0 +1,22 @@
+package com.conversor.timing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Etapas medidas no caminho de uma conversão. {@link #CACHE_MISS} inclui o tempo de {@link #UPSTREAM}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Stage {
+    CACHE_HIT("cache", "hit"),
+    CACHE_MISS("cache", "miss"),
+    UPSTREAM("upstream", null),
+    COMPUTE("compute", null),
+    PERSIST("persist", null);
+
+    /** Nome da métrica no cabeçalho {@code Server-Timing} e da tag {@code stage} */
+    private final String metricName;
+    /** Descrição no {@code Server-Timing} e tag {@code outcome}, quando houver */
+    private final String outcome;
+}
@@ -0,0 +1,115 @@
+package com.conversor.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Mede as etapas de uma conversão (cache, API externa, cálculo e gravação do histórico).
+ *
+ * <p>Cada medição alimenta o timer {@code conversion.stage} (com histograma de percentis, tags {@code stage}
+ * e {@code outcome}) e, dentro de uma requisição HTTP aberta por {@link StageTimingInterceptor}, os tempos
+ * da requisição usados no cabeçalho {@code Server-Timing} e no log de requisições lentas. Com
+ * {@code timing.enabled=false}, {@link #start()} e {@link #stop(Stage, long)} retornam sem ler o relógio.
+ * Trabalho sintético (ex.: o aquecimento da inicialização) roda em {@link #untimed(Supplier)} para não
+ * distorcer os percentis.</p>
+ *
+ * <pre>
+ * long start = stageTimer.start();
+ * ... etapa ...
+ * stageTimer.stop(Stage.COMPUTE, start);
+ * </pre>
+ */
+@Component
+public class StageTimer {
+    /** Marca a thread como fora da medição; nunca é exposto por {@link #current()}. */
+    private static final RequestTimings SUPPRESSED = new RequestTimings(0L);
+
+    private final boolean enabled;
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+    private final ThreadLocal<RequestTimings> current = new ThreadLocal<>();
+
+    public StageTimer(MeterRegistry meterRegistry, @Value("${timing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            for (Stage stage : Stage.values()) {
+                Timer.Builder builder = Timer.builder("conversion.stage")
+                        .description("Duração das etapas de uma conversão")
+                        .tag("stage", stage.getMetricName())
+                        .tag("outcome", stage.getOutcome() != null ? stage.getOutcome() : "none")
+                        .publishPercentileHistogram();
+                timers.put(stage, builder.register(meterRegistry));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void stop(Stage stage, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        RequestTimings timings = current.get();
+        if (timings == SUPPRESSED) {
+            return;
+        }
+        long nanos = System.nanoTime() - startNanos;
+        timers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+        if (timings != null) {
+            timings.add(stage, nanos);
+        }
+    }
+
+    /**
+     * Executa {@code action} nesta thread sem registrar as etapas no timer {@code conversion.stage}.
+     */
+    public <T> T untimed(Supplier<T> action) {
+        RequestTimings previous = current.get();
+        current.set(SUPPRESSED);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Abre a medição da requisição atual nesta thread.
+     */
+    void begin() {
+        current.set(new RequestTimings(System.nanoTime()));
+    }
+
+    /**
+     * Tempos da requisição atual, ou {@code null} fora de uma requisição medida.
+     */
+    RequestTimings current() {
+        RequestTimings timings = current.get();
+        return timings != SUPPRESSED ? timings : null;
+    }
+
+    /**
+     * Encerra a medição da requisição atual e devolve os tempos acumulados.
+     */
+    RequestTimings end() {
+        RequestTimings timings = current();
+        current.remove();
+        return timings;
+    }
+}
@@ -0,0 +1,46 @@
+package com.conversor.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delimita a medição por requisição do {@link StageTimer} e registra, por amostragem, as requisições
+ * mais lentas que {@code timing.slow-threshold} com o tempo de cada etapa.
+ */
+@Slf4j
+public class StageTimingInterceptor implements HandlerInterceptor {
+    private final StageTimer stageTimer;
+    private final long slowThresholdNanos;
+    private final double slowSampleRate;
+
+    public StageTimingInterceptor(StageTimer stageTimer, long slowThresholdMillis, double slowSampleRate) {
+        this.stageTimer = stageTimer;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.slowSampleRate = slowSampleRate;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        stageTimer.begin();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTimings timings = stageTimer.end();
+        if (timings == null) {
+            return;
+        }
+        long elapsed = timings.elapsedNanos();
+        if (elapsed >= slowThresholdNanos && ThreadLocalRandom.current().nextDouble() < slowSampleRate) {
+            log.warn("Requisição lenta: {} {} -> {} em {} ms ({})",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), timings.describe());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+-- Migra conversion_history do formato antigo (VARCHAR / DECIMAL(19,6)) para o formato compacto:
+--   moedas      -> SMALLINT (base 26: 'AAA' = 0 ... 'ZZZ' = 17575)
+--   provider    -> SMALLINT (id em history_provider)
+--   valores     -> BIGINT em milionésimos (valor * 1000000)
+-- Compatível com H2 e PostgreSQL. Execute com a aplicação parada. Os ids são renumerados.
+-- Registros cujos códigos não formam [A-Z]{3} (após TRIM/UPPER) não são migrados: ficam em
+-- conversion_history_rejected, no formato antigo, para correção manual.
+-- Para partições (history.partitioning), repita os passos 2 a 5 trocando conversion_history
+-- pelo nome de cada tabela conversion_history_pAAAAMM[DD].
+
+-- 1. Dicionário de provedores
+CREATE TABLE IF NOT EXISTS history_provider (
+    id SMALLINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+INSERT INTO history_provider (id, name)
+SELECT (SELECT COALESCE(MAX(id), 0) FROM history_provider) + ROW_NUMBER() OVER (ORDER BY p.provider), p.provider
+FROM (SELECT DISTINCT provider FROM conversion_history
+      WHERE provider NOT IN (SELECT name FROM history_provider)) p;
+
+-- 2. Nova tabela no formato compacto
+CREATE TABLE conversion_history_compact (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    from_currency SMALLINT NOT NULL,
+    to_currency SMALLINT NOT NULL,
+    amount BIGINT NOT NULL,
+    converted_amount BIGINT NOT NULL,
+    exchange_rate BIGINT NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    provider SMALLINT NOT NULL
+);
+
+-- 3. Registros cujos códigos, após TRIM/UPPER, não formam [A-Z]{3} (a tabela original não é alterada)
+CREATE TABLE conversion_history_rejected AS
+SELECT * FROM conversion_history
+WHERE id IN (
+    SELECT n.id
+    FROM (SELECT id, UPPER(TRIM(from_currency)) AS from_code, UPPER(TRIM(to_currency)) AS to_code
+          FROM conversion_history) n
+    WHERE n.from_code IS NULL OR LENGTH(n.from_code) <> 3
+          OR ASCII(SUBSTRING(n.from_code, 1, 1)) NOT BETWEEN 65 AND 90
+          OR ASCII(SUBSTRING(n.from_code, 2, 1)) NOT BETWEEN 65 AND 90
+          OR ASCII(SUBSTRING(n.from_code, 3, 1)) NOT BETWEEN 65 AND 90
+       OR n.to_code IS NULL OR LENGTH(n.to_code) <> 3
+          OR ASCII(SUBSTRING(n.to_code, 1, 1)) NOT BETWEEN 65 AND 90
+          OR ASCII(SUBSTRING(n.to_code, 2, 1)) NOT BETWEEN 65 AND 90
+          OR ASCII(SUBSTRING(n.to_code, 3, 1)) NOT BETWEEN 65 AND 90);
+
+-- Relatório: registros não migrados (0 = todos migrados)
+SELECT COUNT(*) AS rejected_rows FROM conversion_history_rejected;
+
+-- 4. Cópia dos dados válidos, com os códigos normalizados (em ordem cronológica)
+INSERT INTO conversion_history_compact
+    (from_currency, to_currency, amount, converted_amount, exchange_rate, timestamp, provider)
+SELECT (ASCII(SUBSTRING(h.from_code, 1, 1)) - 65) * 676
+         + (ASCII(SUBSTRING(h.from_code, 2, 1)) - 65) * 26
+         + (ASCII(SUBSTRING(h.from_code, 3, 1)) - 65),
+       (ASCII(SUBSTRING(h.to_code, 1, 1)) - 65) * 676
+         + (ASCII(SUBSTRING(h.to_code, 2, 1)) - 65) * 26
+         + (ASCII(SUBSTRING(h.to_code, 3, 1)) - 65),
+       CAST(ROUND(h.amount * 1000000) AS BIGINT),
+       CAST(ROUND(h.converted_amount * 1000000) AS BIGINT),
+       CAST(ROUND(h.exchange_rate * 1000000) AS BIGINT),
+       h.timestamp,
+       p.id
+FROM (SELECT id, UPPER(TRIM(from_currency)) AS from_code, UPPER(TRIM(to_currency)) AS to_code,
+             amount, converted_amount, exchange_rate, timestamp, provider
+      FROM conversion_history) h
+JOIN history_provider p ON p.name = h.provider
+WHERE h.id NOT IN (SELECT id FROM conversion_history_rejected)
+ORDER BY h.timestamp;
+
+-- 5. Troca das tabelas e índice da consulta de histórico
+DROP TABLE conversion_history;
+ALTER TABLE conversion_history_compact RENAME TO conversion_history;
+CREATE INDEX ix_conversion_history_pair ON conversion_history (from_currency, to_currency, timestamp);
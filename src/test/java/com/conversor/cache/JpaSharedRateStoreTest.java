@@ -0,0 +1,129 @@
+package com.conversor.cache;
+
+import com.conversor.repository.ProviderDictionary;
+import com.conversor.repository.RateLeaseRepository;
+import com.conversor.repository.RateSnapshotEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cada operação roda na própria transação, como em produção, e não na transação do teste.
+ */
+@DataJpaTest
+@Import({ProviderDictionary.class, JpaSharedRateStoreTest.StoreConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JpaSharedRateStoreTest {
+
+    @Autowired
+    private JpaSharedRateStore store;
+
+    @Autowired
+    private RateSnapshotEntryRepository snapshotRepository;
+
+    @Autowired
+    private RateLeaseRepository leaseRepository;
+
+    @TestConfiguration
+    static class StoreConfig {
+        @Bean
+        JpaSharedRateStore jpaSharedRateStore(RateSnapshotEntryRepository snapshotRepository,
+                                              RateLeaseRepository leaseRepository) {
+            return new JpaSharedRateStore(snapshotRepository, leaseRepository, new ObjectMapper());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        snapshotRepository.deleteAll();
+        leaseRepository.deleteAll();
+    }
+
+    @Test
+    void tryLock_acquiresRenewsAndReleases() {
+        assertTrue(store.tryLock("USD", "node-a", 60_000));
+        assertFalse(store.tryLock("USD", "node-b", 60_000));
+        // O dono renova a própria concessão
+        assertTrue(store.tryLock("USD", "node-a", 60_000));
+
+        store.unlock("USD", "node-b"); // não é o dono: nada muda
+        assertFalse(store.tryLock("USD", "node-b", 60_000));
+
+        store.unlock("USD", "node-a");
+        assertTrue(store.tryLock("USD", "node-b", 60_000));
+    }
+
+    @Test
+    void tryLock_takesOverExpiredLease() throws InterruptedException {
+        assertTrue(store.tryLock("EUR", "node-a", 1));
+        Thread.sleep(10);
+
+        assertTrue(store.tryLock("EUR", "node-b", 60_000));
+        assertFalse(store.tryLock("EUR", "node-a", 60_000));
+    }
+
+    @Test
+    void publish_incrementsVersionAndRemoveHidesSnapshot() {
+        assertEquals(0, store.version("USD"));
+        assertNull(store.get("USD"));
+
+        RateSnapshot first = store.publish("USD", Map.of("BRL", new BigDecimal("5.1")), 1000);
+        RateSnapshot second = store.publish("USD", Map.of("BRL", new BigDecimal("5.2")), 2000);
+
+        assertEquals(1, first.getVersion());
+        assertEquals(2, second.getVersion());
+        RateSnapshot stored = store.get("USD");
+        assertEquals(2, stored.getVersion());
+        assertEquals(2000, stored.getFetchedAt());
+        assertEquals(new BigDecimal("5.2"), stored.getRates().get("BRL"));
+
+        store.remove("USD");
+        assertNull(store.get("USD"));
+        assertEquals(3, store.version("USD"));
+        assertEquals(4, store.publish("USD", Map.of("BRL", new BigDecimal("5.3")), 3000).getVersion());
+    }
+
+    @Test
+    void publish_concurrentPublishersGetDistinctVersions() throws Exception {
+        int publishers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(publishers);
+        try {
+            List<Future<RateSnapshot>> futures = new ArrayList<>();
+            for (int i = 0; i < publishers; i++) {
+                BigDecimal rate = BigDecimal.valueOf(i);
+                futures.add(executor.submit(() -> store.publish("GBP", Map.of("BRL", rate), System.currentTimeMillis())));
+            }
+            Set<Long> versions = futures.stream().map(future -> {
+                try {
+                    return future.get().getVersion();
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }).collect(Collectors.toSet());
+
+            assertEquals(publishers, versions.size());
+            assertEquals(publishers, store.version("GBP"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
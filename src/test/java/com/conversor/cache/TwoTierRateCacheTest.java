@@ -0,0 +1,132 @@
+package com.conversor.cache;
+
+import com.conversor.exception.CurrencyNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TwoTierRateCacheTest {
+
+    private InMemorySharedRateStore store;
+    private TwoTierRateCache nodeA;
+    private TwoTierRateCache nodeB;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemorySharedRateStore();
+        nodeA = new TwoTierRateCache("exchangeRates", store, "node-a", 60000, 10000, 1000);
+        nodeB = new TwoTierRateCache("exchangeRates", store, "node-b", 60000, 10000, 1000);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    private Map<String, BigDecimal> fetch(String rate) {
+        upstreamCalls.incrementAndGet();
+        return Map.of("BRL", new BigDecimal(rate));
+    }
+
+    @Test
+    void get_onlyOneNodeCallsUpstream() {
+        Map<String, BigDecimal> ratesA = nodeA.get("USD", () -> fetch("5.0"));
+        Map<String, BigDecimal> ratesB = nodeB.get("USD", () -> fetch("5.1"));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(ratesA, ratesB);
+        assertEquals(1, store.version("USD"));
+    }
+
+    @Test
+    void isCachedLocally_ignoresSharedStore() {
+        nodeA.get("USD", () -> fetch("5.0"));
+
+        assertTrue(nodeA.isCachedLocally("USD"));
+        assertFalse(nodeB.isCachedLocally("USD"));
+        nodeB.get("USD", () -> fetch("5.1"));
+        assertTrue(nodeB.isCachedLocally("USD"));
+    }
+
+    @Test
+    void get_servesStaleCopyWithoutRereadingStoreWhileAnotherNodeRefreshes() throws InterruptedException {
+        AtomicInteger storeReads = new AtomicInteger();
+        InMemorySharedRateStore countingStore = new InMemorySharedRateStore() {
+            @Override
+            public RateSnapshot get(String base) {
+                storeReads.incrementAndGet();
+                return super.get(base);
+            }
+        };
+        TwoTierRateCache node = new TwoTierRateCache("exchangeRates", countingStore, "node-b", 20, 10000, 1000);
+        countingStore.publish("USD", Map.of("BRL", new BigDecimal("5.0")), System.currentTimeMillis());
+        Thread.sleep(30);
+        assertTrue(countingStore.tryLock("USD", "node-a", 10000)); // node-a está atualizando
+
+        Map<String, BigDecimal> first = node.get("USD", () -> fetch("9.9"));
+        int readsAfterFirst = storeReads.get();
+        Map<String, BigDecimal> second = node.get("USD", () -> fetch("9.9"));
+
+        assertEquals(new BigDecimal("5.0"), first.get("BRL"));
+        assertEquals(first, second);
+        assertEquals(readsAfterFirst, storeReads.get());
+        assertEquals(0, upstreamCalls.get());
+    }
+
+    @Test
+    void put_invalidatesOlderSnapshotsOnOtherNodes() {
+        nodeA.get("USD", () -> fetch("5.0"));
+        nodeB.get("USD", () -> fetch("5.0"));
+
+        nodeA.put("USD", Map.of("BRL", new BigDecimal("5.2")));
+
+        Map<String, BigDecimal> ratesB = nodeB.get("USD", () -> fetch("9.9"));
+        assertEquals(new BigDecimal("5.2"), ratesB.get("BRL"));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void synchronize_dropsLocalCopyBehindSharedVersion() {
+        SharedRateStore silentStore = new InMemorySharedRateStore() {
+            @Override
+            public void addInvalidationListener(java.util.function.BiConsumer<String, Long> listener) {
+                // simula um L2 sem notificação ativa
+            }
+        };
+        TwoTierRateCache node = new TwoTierRateCache("exchangeRates", silentStore, "node-a", 60000, 10000, 1000);
+        node.get("USD", () -> fetch("5.0"));
+
+        silentStore.publish("USD", Map.of("BRL", new BigDecimal("5.3")), System.currentTimeMillis());
+        assertEquals(new BigDecimal("5.0"), ((Map<?, ?>) node.get("USD").get()).get("BRL"));
+
+        node.synchronize();
+        assertEquals(new BigDecimal("5.3"), ((Map<?, ?>) node.get("USD").get()).get("BRL"));
+    }
+
+    @Test
+    void get_servesPreviousSnapshotWhileAnotherNodeHoldsLease() {
+        TwoTierRateCache expiring = new TwoTierRateCache("exchangeRates", store, "node-a", 0, 10000, 1000);
+        expiring.get("USD", () -> fetch("5.0"));
+        assertTrue(store.tryLock("USD", "node-b", 10000));
+
+        Map<String, BigDecimal> rates = expiring.get("USD", () -> fetch("5.5"));
+
+        assertEquals(new BigDecimal("5.0"), rates.get("BRL"));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void get_releasesLeaseWhenLoaderFails() {
+        Cache.ValueRetrievalException ex = assertThrows(Cache.ValueRetrievalException.class,
+                () -> nodeA.get("XAU", () -> {
+                    throw new CurrencyNotFoundException("XAU");
+                }));
+
+        assertInstanceOf(CurrencyNotFoundException.class, ex.getCause());
+        assertTrue(store.tryLock("XAU", "node-b", 10000));
+        assertNull(store.get("XAU"));
+    }
+}
@@ -0,0 +1,24 @@
+package com.conversor.config;
+
+import com.conversor.service.HistoryRetentionJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.main.lazy-initialization=true")
+public class StartupConfigTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void lazyInitialization_stillCreatesScheduledRetentionJob() {
+        String[] names = context.getBeanNamesForType(HistoryRetentionJob.class);
+
+        assertTrue(names.length == 1 && context.getBeanFactory().containsSingleton(names[0]),
+                "HistoryRetentionJob deve ser criado na subida para que o @Scheduled seja registrado");
+    }
+}
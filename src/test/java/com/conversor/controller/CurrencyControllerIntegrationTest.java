@@ -1,9 +1,12 @@
 package com.conversor.controller;
 
 import com.conversor.dto.ConversionResponse;
+import com.conversor.dto.MultiConversionResponse;
 import com.conversor.model.ConversionHistory;
 import com.conversor.repository.ConversionHistoryRepository;
 import com.conversor.service.ExchangeRateService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,12 +25,19 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -57,18 +67,13 @@ public class CurrencyControllerIntegrationTest {
     }
 
     @Test
-    void listCurrencies_shouldReturnRates() throws Exception {
-        Map<String, BigDecimal> mockRates = new HashMap<>();
-        mockRates.put("USD", BigDecimal.ONE);
-        mockRates.put("BRL", new BigDecimal("5.0"));
-
-        when(exchangeRateService.getExchangeRates("USD")).thenReturn(mockRates);
-
+    void listCurrencies_shouldReturnRegisteredCurrencies() throws Exception {
         mockMvc.perform(get("/currencies")
                        .contentType(MediaType.APPLICATION_JSON))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$.USD").value(1.0))
-               .andExpect(jsonPath("$.BRL").value(5.0));
+               .andExpect(jsonPath("$").isArray())
+               .andExpect(jsonPath("$[*].code", hasItems("USD", "BRL", "EUR")))
+               .andExpect(jsonPath("$[0].ordinal").doesNotExist());
     }
 
     @Test
@@ -96,7 +101,33 @@ public class CurrencyControllerIntegrationTest {
                .andExpect(jsonPath("$.amount").value(amount.doubleValue()))
                .andExpect(jsonPath("$.convertedAmount").value(convertedAmount.doubleValue()))
                .andExpect(jsonPath("$.exchangeRate").value(rate.doubleValue()))
-               .andExpect(jsonPath("$.provider").value("mock-provider"));
+               .andExpect(jsonPath("$.provider").value("mock-provider"))
+               .andExpect(header().string("Server-Timing", containsString("total;dur=")));
+    }
+
+    @Test
+    void convert_withMultipleTargets_shouldReturnCompactMap() throws Exception {
+        BigDecimal amount = new BigDecimal("100");
+        Map<String, BigDecimal> conversions = new LinkedHashMap<>();
+        conversions.put("BRL", new BigDecimal("500.000000"));
+        conversions.put("EUR", new BigDecimal("90.000000"));
+        Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        rates.put("BRL", new BigDecimal("5.0"));
+        rates.put("EUR", new BigDecimal("0.9"));
+
+        when(exchangeRateService.convertMany(eq("USD"), eq(List.of("BRL", "EUR")), eq(amount))).thenReturn(
+                new MultiConversionResponse("USD", amount, conversions, rates, LocalDateTime.now(), "mock-provider"));
+
+        mockMvc.perform(get("/currencies/convert")
+                       .param("from", "USD")
+                       .param("to", "BRL,EUR")
+                       .param("amount", amount.toString())
+                       .contentType(MediaType.APPLICATION_JSON))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.from").value("USD"))
+               .andExpect(jsonPath("$.conversions.BRL").value(500.0))
+               .andExpect(jsonPath("$.conversions.EUR").value(90.0))
+               .andExpect(jsonPath("$.rates.EUR").value(0.9));
     }
 
     @Test
@@ -115,6 +146,45 @@ public class CurrencyControllerIntegrationTest {
                .andExpect(jsonPath("$.USD").value(1.1));
     }
 
+    @Test
+    void getRates_withCborAccept_shouldReturnBinaryRateTable() throws Exception {
+        Map<String, BigDecimal> mockRates = new HashMap<>();
+        mockRates.put("EUR", BigDecimal.ONE);
+        mockRates.put("JPY", new BigDecimal("161.987654321"));
+
+        when(exchangeRateService.getExchangeRates("EUR")).thenReturn(mockRates);
+
+        byte[] body = mockMvc.perform(get("/currencies/rates/{currency}", "EUR")
+                       .accept(MediaType.APPLICATION_CBOR))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+               .andReturn().getResponse().getContentAsByteArray();
+
+        Map<String, BigDecimal> decoded = new CBORMapper().readValue(body, new TypeReference<Map<String, BigDecimal>>() {});
+        assertEquals(mockRates, decoded);
+    }
+
+    @Test
+    void convert_withCborAccept_shouldReturnBinaryResponse() throws Exception {
+        BigDecimal amount = new BigDecimal("100");
+        ConversionResponse mockResponse = new ConversionResponse(
+                "USD", "BRL", amount, new BigDecimal("512.345600"), new BigDecimal("5.123456"), LocalDateTime.now(), "mock-provider"
+        );
+        when(exchangeRateService.convert(eq("USD"), eq("BRL"), eq(amount))).thenReturn(mockResponse);
+
+        byte[] body = mockMvc.perform(get("/currencies/convert")
+                       .param("from", "USD")
+                       .param("to", "BRL")
+                       .param("amount", amount.toString())
+                       .accept(MediaType.APPLICATION_CBOR))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+               .andReturn().getResponse().getContentAsByteArray();
+
+        ConversionResponse decoded = CBORMapper.builder().findAndAddModules().build().readValue(body, ConversionResponse.class);
+        assertEquals(mockResponse, decoded);
+    }
+
     @Test
     void getHistory_shouldReturnPagedHistory() throws Exception {
         String from = "USD";
@@ -0,0 +1,110 @@
+package com.conversor.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void tryAcquire_rejectsAboveLimitWithoutQueue() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.2, 0, 0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_waitsInQueueUntilTimeout() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 0.2, 1, 2000);
+        assertTrue(limiter.tryAcquire());
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            limiter.release(FAST, false);
+        });
+        releaser.start();
+        assertTrue(limiter.tryAcquire());
+        releaser.join();
+
+        AdaptiveConcurrencyLimiter full = new AdaptiveConcurrencyLimiter(1, 1, 10, 0.2, 1, 50);
+        assertTrue(full.tryAcquire());
+        assertFalse(full.tryAcquire());
+        assertEquals(0, full.getQueued());
+    }
+
+    @Test
+    void tryAcquireNow_neverWaitsInQueue() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 0.2, 1, 60_000);
+
+        assertTrue(limiter.tryAcquireNow());
+        assertFalse(limiter.tryAcquireNow());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void release_growsLimitWhileLatencyIsStable() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 0, 0);
+
+        saturate(limiter, FAST, 50);
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    void release_shrinksLimitWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 4, 100, 0.2, 0, 0);
+        saturate(limiter, FAST, 100);
+        int stable = limiter.getLimit();
+
+        saturate(limiter, SLOW, 20);
+
+        assertTrue(limiter.getLimit() < stable);
+    }
+
+    @Test
+    void release_backsOffOnFailuresDownToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100, 0.2, 0, 0);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, true);
+        }
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void constructor_rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(50, 1, 10, 0.2, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 0, 10, 0.2, 0, 0));
+    }
+
+    /**
+     * Ocupa todas as vagas e devolve-as com a latência informada, {@code rounds} vezes.
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos, false);
+            }
+        }
+    }
+}
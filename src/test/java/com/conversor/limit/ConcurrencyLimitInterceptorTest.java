@@ -0,0 +1,123 @@
+package com.conversor.limit;
+
+import com.conversor.controller.CurrencyController;
+import com.conversor.exception.CurrencyExceptionHandler;
+import com.conversor.service.ConversionAnalytics;
+import com.conversor.service.CurrencyRegistry;
+import com.conversor.service.ExchangeRateService;
+import com.conversor.service.RateTableEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ConcurrencyLimitInterceptorTest {
+    private ExchangeRateService exchangeRateService;
+    private AdaptiveConcurrencyLimiter limiter;
+    private AdaptiveConcurrencyLimiter persistLimiter;
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        exchangeRateService = mock(ExchangeRateService.class);
+        limiter = spy(new AdaptiveConcurrencyLimiter(1, 1, 10, 0.2, 1, 100));
+        persistLimiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 0.2, 0, 0);
+        meterRegistry = new SimpleMeterRegistry();
+        CurrencyController controller = new CurrencyController(exchangeRateService, mock(CurrencyRegistry.class),
+                mock(ConversionAnalytics.class), mock(RateTableEncoder.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(new ConcurrencyLimitInterceptor(
+                        "upstream", limiter, exchangeRateService::hasCachedRates, meterRegistry, 2))
+                .addMappedInterceptors(new String[] {"/currencies/convert"}, new ConcurrencyLimitInterceptor(
+                        "persist", persistLimiter, null, meterRegistry, 2))
+                .setControllerAdvice(new CurrencyExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void saturated_uncachedBaseIsRejectedWithRetryAfter() throws Exception {
+        assertTrue(limiter.tryAcquireNow()); // ocupa a única vaga
+        when(exchangeRateService.hasCachedRates("USD")).thenReturn(false);
+
+        mockMvc.perform(get("/currencies/convert")
+                        .param("from", "USD")
+                        .param("to", "BRL")
+                        .param("amount", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.message").exists());
+
+        verify(limiter).tryAcquire();
+        verify(exchangeRateService, never()).convert(anyString(), anyString(), any());
+        assertEquals(1, meterRegistry.get("api.concurrency.rejected").tag("limit", "upstream").counter().count());
+        assertEquals(0, meterRegistry.get("api.concurrency.bypassed").tag("limit", "upstream").counter().count());
+    }
+
+    @Test
+    void saturated_cachedBaseBypassesWithoutQueueing() throws Exception {
+        assertTrue(limiter.tryAcquireNow());
+        when(exchangeRateService.hasCachedRates("USD")).thenReturn(true);
+        when(exchangeRateService.getExchangeRates("USD")).thenReturn(Map.of("BRL", new BigDecimal("5.0")));
+
+        mockMvc.perform(get("/currencies/rates/USD").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.BRL").value(5.0));
+
+        // Não entrou na fila nem ocupou vaga
+        verify(limiter, never()).tryAcquire();
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(1, meterRegistry.get("api.concurrency.bypassed").tag("limit", "upstream").counter().count());
+        assertEquals(0, meterRegistry.get("api.concurrency.rejected").tag("limit", "upstream").counter().count());
+    }
+
+    @Test
+    void saturatedPersistLimit_rejectsCachedConversion() throws Exception {
+        assertTrue(persistLimiter.tryAcquireNow()); // gravação do histórico saturada
+        when(exchangeRateService.hasCachedRates("USD")).thenReturn(true);
+
+        mockMvc.perform(get("/currencies/convert")
+                        .param("from", "USD")
+                        .param("to", "BRL")
+                        .param("amount", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+
+        verify(exchangeRateService, never()).convert(anyString(), anyString(), any());
+        assertEquals(1, meterRegistry.get("api.concurrency.rejected").tag("limit", "persist").counter().count());
+        // A vaga do limite do provedor foi devolvida sem penalizá-lo
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit());
+        verify(limiter, never()).release(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void freeSlot_isAcquiredAndReleased() throws Exception {
+        when(exchangeRateService.getExchangeRates("USD")).thenReturn(Map.of("BRL", new BigDecimal("5.0")));
+
+        mockMvc.perform(get("/currencies/rates/USD").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(exchangeRateService, never()).hasCachedRates(anyString());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, meterRegistry.get("api.concurrency.bypassed").tag("limit", "upstream").counter().count());
+    }
+}
@@ -0,0 +1,135 @@
+package com.conversor.repository;
+
+import com.conversor.model.CurrencyCodeConverter;
+import com.conversor.model.ScaledDecimalConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o formato antigo e o compacto do histórico em um banco H2 em arquivo: bytes por registro,
+ * registros por página de 8 KiB, tamanho do índice (moedas, data) e vazão de inserção. Os números vão para
+ * o log; o teste falha se o formato compacto não for menor que o antigo na tabela e no índice.
+ *
+ * <pre>mvn test -Dtest=ConversionHistoryStorageBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=200000]</pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ConversionHistoryStorageBenchmarkTest {
+    private static final String[] CODES = {"USD", "EUR", "BRL", "GBP", "JPY", "CHF", "CAD", "AUD"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compareStorageFormats() {
+        int rows = Integer.getInteger("benchmark.rows", 200_000);
+        Result legacy = run("legacy", rows,
+                "CREATE TABLE history (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "from_currency VARCHAR(255) NOT NULL, to_currency VARCHAR(255) NOT NULL, " +
+                "amount DECIMAL(19,6) NOT NULL, converted_amount DECIMAL(19,6) NOT NULL, " +
+                "exchange_rate DECIMAL(19,6) NOT NULL, timestamp TIMESTAMP NOT NULL, provider VARCHAR(255) NOT NULL)",
+                i -> new Object[] {
+                        CODES[i % CODES.length], CODES[(i / CODES.length) % CODES.length],
+                        amount(i), converted(i), rate(i), timestamp(i), "exchangerate-api"});
+        Result compact = run("compact", rows,
+                "CREATE TABLE history (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "from_currency SMALLINT NOT NULL, to_currency SMALLINT NOT NULL, " +
+                "amount BIGINT NOT NULL, converted_amount BIGINT NOT NULL, " +
+                "exchange_rate BIGINT NOT NULL, timestamp TIMESTAMP NOT NULL, provider SMALLINT NOT NULL)",
+                i -> new Object[] {
+                        CurrencyCodeConverter.encode(CODES[i % CODES.length]),
+                        CurrencyCodeConverter.encode(CODES[(i / CODES.length) % CODES.length]),
+                        ScaledDecimalConverter.encode(amount(i)),
+                        ScaledDecimalConverter.encode(converted(i)),
+                        ScaledDecimalConverter.encode(rate(i)), timestamp(i), (short) 1});
+
+        for (Result result : List.of(legacy, compact)) {
+            log.info("{} ({} linhas): {} bytes/linha, {} linhas/8KiB, índice {} KiB, {} inserções/s",
+                    result.name, rows, String.format("%.1f", result.bytesPerRow),
+                    String.format("%.1f", 8192 / result.bytesPerRow), result.indexBytes / 1024,
+                    String.format("%.0f", result.insertsPerSecond));
+        }
+
+        assertTrue(compact.bytesPerRow < legacy.bytesPerRow,
+                "bytes/linha: compacto " + compact.bytesPerRow + " >= antigo " + legacy.bytesPerRow);
+        assertTrue(compact.indexBytes < legacy.indexBytes,
+                "índice: compacto " + compact.indexBytes + " >= antigo " + legacy.indexBytes);
+        assertTrue(compact.insertsPerSecond > 0 && legacy.insertsPerSecond > 0);
+    }
+
+    private Result run(String name, int rows, String ddl, IntFunction<Object[]> row) {
+        Path file = directory.resolve(name).toAbsolutePath();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:file:" + file, "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(ddl);
+
+        String insert = "INSERT INTO history (from_currency, to_currency, amount, converted_amount, " +
+                "exchange_rate, timestamp, provider) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == 1000) {
+                jdbcTemplate.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, batch);
+        }
+        double insertsPerSecond = rows / ((System.nanoTime() - start) / 1e9);
+
+        // DISK_SPACE_USED ignora índices secundários; mede o arquivo compactado antes e depois do índice
+        long tableBytes = compactedSize(jdbcTemplate, file);
+        jdbcTemplate.execute("CREATE INDEX ix_history_pair ON history (from_currency, to_currency, timestamp)");
+        long indexBytes = compactedSize(jdbcTemplate, file) - tableBytes;
+
+        return new Result(name, (double) tableBytes / rows, indexBytes, insertsPerSecond);
+    }
+
+    private static long compactedSize(JdbcTemplate jdbcTemplate, Path file) {
+        jdbcTemplate.execute("SHUTDOWN COMPACT");
+        try {
+            return Files.size(file.resolveSibling(file.getFileName() + ".mv.db"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static BigDecimal amount(int i) {
+        return BigDecimal.valueOf(1 + i % 100_000, 2);
+    }
+
+    private static BigDecimal rate(int i) {
+        return BigDecimal.valueOf(100_000 + i % 900_000, 5);
+    }
+
+    private static BigDecimal converted(int i) {
+        return amount(i).multiply(rate(i)).setScale(6, RoundingMode.HALF_UP);
+    }
+
+    private static Timestamp timestamp(int i) {
+        return Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i));
+    }
+
+    private record Result(String name, double bytesPerRow, long indexBytes, double insertsPerSecond) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.conversor.repository;
+
+import com.conversor.model.ConversionHistory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ProviderDictionary.class)
+public class JpaConversionHistoryStoreTest {
+
+    @Autowired
+    private ConversionHistoryRepository conversionHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProviderDictionary providerDictionary;
+
+    @Test
+    void saveAll_batchInsertsInEntityEncoding() {
+        JpaConversionHistoryStore store =
+                new JpaConversionHistoryStore(conversionHistoryRepository, jdbcTemplate, providerDictionary, 1000);
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+        store.saveAll(List.of(
+                new ConversionHistory(null, "USD", "BRL", new BigDecimal("100.5"), new BigDecimal("502.5"),
+                        new BigDecimal("5"), timestamp, "provider1"),
+                new ConversionHistory(null, "USD", "EUR", new BigDecimal("100.5"), new BigDecimal("92.46"),
+                        new BigDecimal("0.92"), timestamp, "provider1")));
+
+        List<ConversionHistory> brl = store.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+                "USD", "BRL", timestamp.minusDays(1), timestamp.plusDays(1), PageRequest.of(0, 10)).getContent();
+        assertEquals(2, conversionHistoryRepository.count());
+        assertEquals(1, brl.size());
+        assertNotNull(brl.get(0).getId());
+        assertEquals(new BigDecimal("502.500000"), brl.get(0).getConvertedAmount());
+        assertEquals("provider1", brl.get(0).getProvider());
+        assertEquals(13991, jdbcTemplate.queryForObject(
+                "SELECT from_currency FROM conversion_history WHERE id = ?", Integer.class, brl.get(0).getId()));
+    }
+
+    @Test
+    void purgeBefore_deletesExpiredRowsInBatches() {
+        JpaConversionHistoryStore store =
+                new JpaConversionHistoryStore(conversionHistoryRepository, jdbcTemplate, providerDictionary, 10);
+        LocalDateTime cutoff = LocalDateTime.of(2024, 2, 1, 0, 0);
+        List<ConversionHistory> histories = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            histories.add(history(cutoff.minusHours(i + 1)));
+        }
+        for (int i = 0; i < 3; i++) {
+            histories.add(history(cutoff.plusHours(i)));
+        }
+        store.saveAll(histories);
+
+        long removed = store.purgeBefore(cutoff);
+
+        assertEquals(25, removed);
+        assertEquals(3, conversionHistoryRepository.count());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM conversion_history WHERE timestamp < ?", Integer.class, cutoff));
+    }
+
+    private static ConversionHistory history(LocalDateTime timestamp) {
+        return new ConversionHistory(null, "USD", "BRL", new BigDecimal("1"), new BigDecimal("5"),
+                new BigDecimal("5"), timestamp, "provider1");
+    }
+}
@@ -0,0 +1,147 @@
+package com.conversor.repository;
+
+import com.conversor.model.ConversionHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedConversionHistoryStoreTest {
+
+    @TempDir
+    Path archiveDirectory;
+
+    private JdbcTemplate jdbcTemplate;
+    private PartitionedConversionHistoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        ProviderDictionary providerDictionary = new ProviderDictionary(dataSource);
+        providerDictionary.load();
+        store = new PartitionedConversionHistoryStore(
+                jdbcTemplate, providerDictionary, HistoryPartitioning.MONTHLY, new HistoryArchive(archiveDirectory));
+        store.discoverPartitions();
+    }
+
+    private ConversionHistory history(String to, String amount, LocalDateTime timestamp) {
+        BigDecimal value = new BigDecimal(amount);
+        return new ConversionHistory(null, "USD", to, value, value.multiply(new BigDecimal("5")),
+                new BigDecimal("5.000000"), timestamp, "provider1");
+    }
+
+    @Test
+    void save_createsOnePartitionPerMonth() {
+        store.save(history("BRL", "1", LocalDateTime.of(2024, 1, 15, 10, 0)));
+        store.save(history("BRL", "2", LocalDateTime.of(2024, 2, 1, 0, 0)));
+        store.save(history("BRL", "3", LocalDateTime.of(2024, 2, 20, 12, 0)));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM conversion_history_p202401", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM conversion_history_p202402", Integer.class));
+    }
+
+    @Test
+    void find_pagesAcrossPartitions() {
+        store.save(history("BRL", "1", LocalDateTime.of(2024, 1, 15, 10, 0)));
+        store.save(history("EUR", "9", LocalDateTime.of(2024, 1, 16, 10, 0)));
+        store.save(history("BRL", "2", LocalDateTime.of(2024, 2, 1, 0, 0)));
+        store.save(history("BRL", "3", LocalDateTime.of(2024, 3, 20, 12, 0)));
+
+        Page<ConversionHistory> firstPage = store.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+                "USD", "BRL", LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 28, 0, 0),
+                PageRequest.of(0, 1));
+        Page<ConversionHistory> descending = store.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+                "USD", "BRL", LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 12, 31, 0, 0),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "timestamp")));
+
+        assertEquals(2, firstPage.getTotalElements());
+        assertEquals(1, firstPage.getContent().size());
+        assertEquals(0, new BigDecimal("1").compareTo(firstPage.getContent().get(0).getAmount()));
+        assertEquals(3, descending.getTotalElements());
+        assertEquals(LocalDateTime.of(2024, 3, 20, 12, 0), descending.getContent().get(0).getTimestamp());
+    }
+
+    @Test
+    void purgeBefore_dropsAndArchivesExpiredPartitions() {
+        store.save(history("BRL", "1", LocalDateTime.of(2024, 1, 15, 10, 0)));
+        store.save(history("BRL", "2", LocalDateTime.of(2024, 2, 10, 0, 0)));
+
+        long removed = store.purgeBefore(LocalDateTime.of(2024, 2, 15, 0, 0));
+
+        assertEquals(1, removed);
+        assertTrue(Files.exists(archiveDirectory.resolve("conversion_history_p202401.tsv.gz")));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE LOWER(TABLE_NAME) = 'conversion_history_p202401'",
+                Integer.class));
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 3, 1, 0, 0);
+        assertEquals(1, store.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+                "USD", "BRL", start, end, PageRequest.of(0, 10)).getTotalElements());
+
+        Page<ConversionHistory> archived = store.findArchived("USD", "BRL", start, end, PageRequest.of(0, 10));
+        assertEquals(1, archived.getTotalElements());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 0), archived.getContent().get(0).getTimestamp());
+        assertEquals("provider1", archived.getContent().get(0).getProvider());
+    }
+
+    @Test
+    void findArchived_pagesAcrossArchivedPartitions() {
+        store.save(history("BRL", "1", LocalDateTime.of(2024, 1, 10, 0, 0)));
+        store.save(history("BRL", "2", LocalDateTime.of(2024, 1, 20, 0, 0)));
+        store.save(history("EUR", "9", LocalDateTime.of(2024, 1, 25, 0, 0)));
+        store.save(history("BRL", "3", LocalDateTime.of(2024, 2, 5, 0, 0)));
+        store.save(history("BRL", "4", LocalDateTime.of(2024, 3, 5, 0, 0)));
+        store.purgeBefore(LocalDateTime.of(2024, 5, 1, 0, 0));
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 12, 31, 0, 0);
+        Page<ConversionHistory> second = store.findArchived("USD", "BRL", start, end, PageRequest.of(1, 2));
+        Page<ConversionHistory> descending = store.findArchived("USD", "BRL", start, end,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "timestamp")));
+
+        assertEquals(4, second.getTotalElements());
+        assertEquals(2, second.getContent().size());
+        assertEquals(LocalDateTime.of(2024, 2, 5, 0, 0), second.getContent().get(0).getTimestamp());
+        assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0), second.getContent().get(1).getTimestamp());
+        assertEquals(3, descending.getContent().size());
+        assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0), descending.getContent().get(0).getTimestamp());
+        assertEquals(LocalDateTime.of(2024, 1, 20, 0, 0), descending.getContent().get(2).getTimestamp());
+        assertTrue(store.findArchived("USD", "BRL", start, end, PageRequest.of(5, 2)).getContent().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.findArchived("USD", "BRL", start, end,
+                PageRequest.of(0, 2, Sort.by("amount"))));
+    }
+
+    @Test
+    void save_storesCompactEncodingAndReadsBackSameView() {
+        store.save(history("BRL", "100.5", LocalDateTime.of(2024, 1, 15, 10, 0)));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM conversion_history_p202401");
+        assertEquals(13991, ((Number) row.get("FROM_CURRENCY")).intValue()); // (U=20 * 26 + S=18) * 26 + D=3
+        assertEquals(100_500_000L, ((Number) row.get("AMOUNT")).longValue());
+
+        ConversionHistory read = store.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+                "USD", "BRL", LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0),
+                PageRequest.of(0, 10)).getContent().get(0);
+        assertEquals("USD", read.getFromCurrency());
+        assertEquals("BRL", read.getToCurrency());
+        assertEquals(new BigDecimal("100.500000"), read.getAmount());
+        assertEquals(new BigDecimal("502.500000"), read.getConvertedAmount());
+        assertEquals("provider1", read.getProvider());
+    }
+}
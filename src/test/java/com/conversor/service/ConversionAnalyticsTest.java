@@ -0,0 +1,121 @@
+package com.conversor.service;
+
+import com.conversor.dto.PairStatistics;
+import com.conversor.model.Currency;
+import com.conversor.repository.CurrencyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConversionAnalyticsTest {
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+
+    private CurrencyRegistry currencyRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(currencyRepository.findByActiveTrue()).thenReturn(List.of(
+                new Currency("USD", "US Dollar", "$", true),
+                new Currency("BRL", "Brazilian Real", "R$", true),
+                new Currency("EUR", "Euro", "€", true)
+        ));
+        currencyRegistry = new CurrencyRegistry(currencyRepository);
+        ReflectionTestUtils.setField(currencyRegistry, "negativeCacheTtl", 60000L);
+        currencyRegistry.load();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void topPairs_ordersByCountWithHistograms() {
+        ConversionAnalytics analytics = new ConversionAnalytics(currencyRegistry, meterRegistry, true, 100, 10);
+        for (int i = 0; i < 3; i++) {
+            analytics.record("USD", "BRL", new BigDecimal("100.00"), 1_500_000);
+        }
+        analytics.record("EUR", "USD", new BigDecimal("0.05"), 3_000);
+
+        List<PairStatistics> top = analytics.topPairs(10);
+
+        assertEquals(2, top.size());
+        PairStatistics first = top.get(0);
+        assertEquals("USD", first.getFrom());
+        assertEquals("BRL", first.getTo());
+        assertEquals(3, first.getCount());
+        assertEquals(3L, first.getAmountDistribution().get("100-1000"));
+        assertEquals(2048L, first.getLatencyP50Micros());
+        assertEquals("EUR", top.get(1).getFrom());
+        assertEquals(1L, top.get(1).getAmountDistribution().get("<0.1"));
+
+        assertEquals(1, analytics.topPairs(1).size());
+        analytics.refreshGauges();
+        assertEquals(3.0, meterRegistry.get("conversion.analytics.pair.count").tag("from", "USD").gauge().value());
+        assertEquals(4.0, meterRegistry.get("conversion.analytics.total").functionCounter().count());
+    }
+
+    @Test
+    void record_countsPairsBeyondTrackedLimitWithoutHistograms() {
+        ConversionAnalytics analytics = new ConversionAnalytics(currencyRegistry, meterRegistry, true, 1, 10);
+        analytics.record("USD", "BRL", BigDecimal.TEN, 1_000);
+        analytics.record("BRL", "USD", BigDecimal.TEN, 1_000);
+        analytics.record("BRL", "USD", BigDecimal.TEN, 1_000);
+
+        List<PairStatistics> top = analytics.topPairs(10);
+
+        assertEquals("BRL", top.get(0).getFrom());
+        assertEquals(2, top.get(0).getCount());
+        assertNull(top.get(0).getAmountDistribution());
+        assertNotNull(top.get(1).getAmountDistribution());
+    }
+
+    @Test
+    void record_isExactUnderConcurrency() throws InterruptedException {
+        ConversionAnalytics analytics = new ConversionAnalytics(currencyRegistry, meterRegistry, true, 100, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    analytics.record("USD", "EUR", BigDecimal.ONE, 10_000);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, analytics.topPairs(1).get(0).getCount());
+    }
+
+    @Test
+    void record_disabledKeepsNothing() {
+        ConversionAnalytics analytics = new ConversionAnalytics(currencyRegistry, meterRegistry, false, 100, 10);
+        analytics.record("USD", "BRL", BigDecimal.TEN, 1_000);
+
+        assertTrue(analytics.topPairs(10).isEmpty());
+    }
+
+    @Test
+    void amountBucket_usesDecades() {
+        assertEquals(0, ConversionAnalytics.amountBucket(BigDecimal.ZERO));
+        assertEquals(0, ConversionAnalytics.amountBucket(new BigDecimal("0.05")));
+        assertEquals(1, ConversionAnalytics.amountBucket(new BigDecimal("0.5")));
+        assertEquals(2, ConversionAnalytics.amountBucket(new BigDecimal("5.000000")));
+        assertEquals(4, ConversionAnalytics.amountBucket(new BigDecimal("100.50")));
+        assertEquals(15, ConversionAnalytics.amountBucket(new BigDecimal("1E+20")));
+    }
+}
@@ -0,0 +1,102 @@
+package com.conversor.service;
+
+import com.conversor.exception.CurrencyNotFoundException;
+import com.conversor.model.Currency;
+import com.conversor.model.RegisteredCurrency;
+import com.conversor.repository.CurrencyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CurrencyRegistryTest {
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+
+    private CurrencyRegistry registryOf(Currency... currencies) {
+        when(currencyRepository.findByActiveTrue()).thenReturn(List.of(currencies));
+        CurrencyRegistry registry = new CurrencyRegistry(currencyRepository);
+        ReflectionTestUtils.setField(registry, "negativeCacheTtl", 60000L);
+        registry.load();
+        return registry;
+    }
+
+    @Test
+    void load_assignsDenseOrdinalsSortedByCode() {
+        CurrencyRegistry registry = registryOf(
+                new Currency("EUR", "Euro", "€", true),
+                new Currency("brl", "Brazilian Real", "R$", true),
+                new Currency("USD", "US Dollar", "$", true),
+                new Currency("BRL", "Duplicado", "R$", true),
+                new Currency("DOLLAR", "Inválida", "$", true)
+        );
+
+        assertEquals(3, registry.size());
+        List<RegisteredCurrency> currencies = registry.getCurrencies();
+        assertEquals(List.of("BRL", "EUR", "USD"), currencies.stream().map(RegisteredCurrency::getCode).toList());
+        for (int i = 0; i < currencies.size(); i++) {
+            assertEquals(i, currencies.get(i).getOrdinal());
+            assertSame(currencies.get(i), registry.get(i));
+        }
+    }
+
+    @Test
+    void resolve_normalizesCode() {
+        CurrencyRegistry registry = registryOf(new Currency("USD", "US Dollar", "$", true));
+
+        RegisteredCurrency usd = registry.resolve("USD");
+        assertSame(usd, registry.resolve("usd"));
+        assertSame(usd, registry.resolve(" uSd "));
+    }
+
+    @Test
+    void resolve_rejectsUnknownOrMalformedCodes() {
+        CurrencyRegistry registry = registryOf(new Currency("USD", "US Dollar", "$", true));
+
+        assertThrows(CurrencyNotFoundException.class, () -> registry.resolve("EUR"));
+        assertThrows(CurrencyNotFoundException.class, () -> registry.resolve("US"));
+        assertThrows(CurrencyNotFoundException.class, () -> registry.resolve("U$D"));
+        assertThrows(CurrencyNotFoundException.class, () -> registry.resolve(""));
+        assertThrows(CurrencyNotFoundException.class, () -> registry.resolve(null));
+    }
+
+    @Test
+    void require_failsWhileCurrencyIsRejected() {
+        CurrencyRegistry registry = registryOf(
+                new Currency("USD", "US Dollar", "$", true),
+                new Currency("XAU", "Gold", "XAU", true)
+        );
+        RegisteredCurrency gold = registry.resolve("XAU");
+
+        registry.markRejected(gold);
+
+        assertTrue(registry.isRejected(gold));
+        assertThrows(CurrencyNotFoundException.class, () -> registry.require("xau"));
+        assertSame(gold, registry.resolve("XAU"));
+        assertFalse(registry.isRejected(registry.resolve("USD")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void load_seedsIsoCurrenciesWhenTableIsEmpty() {
+        when(currencyRepository.findByActiveTrue()).thenReturn(List.of());
+        when(currencyRepository.count()).thenReturn(0L);
+        when(currencyRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CurrencyRegistry registry = new CurrencyRegistry(currencyRepository);
+        registry.load();
+
+        assertEquals("BRL", registry.resolve("brl").getCode());
+        assertTrue(registry.size() > 100);
+        verify(currencyRepository).saveAll(anyList());
+    }
+}
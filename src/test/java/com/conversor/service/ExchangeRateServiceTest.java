@@ -1,21 +1,28 @@
 package com.conversor.service;
 
 import com.conversor.dto.ConversionResponse;
+import com.conversor.dto.MultiConversionResponse;
 import com.conversor.exception.CurrencyNotFoundException;
 import com.conversor.exception.ExternalApiException;
 import com.conversor.model.ConversionHistory;
-import com.conversor.repository.ConversionHistoryRepository;
+import com.conversor.model.Currency;
+import com.conversor.repository.ConversionHistoryStore;
+import com.conversor.repository.CurrencyRepository;
+import com.conversor.timing.StageTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -43,13 +50,32 @@ public class ExchangeRateServiceTest {
     private RestTemplate restTemplate;
 
     @Mock
-    private ConversionHistoryRepository conversionHistoryRepository;
+    private ConversionHistoryStore conversionHistoryStore;
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+
+    private CurrencyRegistry currencyRegistry;
 
-    @InjectMocks
     private ExchangeRateService exchangeRateService;
 
     @BeforeEach
     void setUp() {
+        when(currencyRepository.findByActiveTrue()).thenReturn(List.of(
+                new Currency("USD", "US Dollar", "$", true),
+                new Currency("BRL", "Brazilian Real", "R$", true),
+                new Currency("EUR", "Euro", "€", true),
+                new Currency("GBP", "British Pound", "£", true),
+                new Currency("XAU", "Gold", "XAU", true)
+        ));
+        currencyRegistry = new CurrencyRegistry(currencyRepository);
+        ReflectionTestUtils.setField(currencyRegistry, "negativeCacheTtl", 60000L);
+        currencyRegistry.load();
+
+        exchangeRateService = new ExchangeRateService(
+                restTemplate, conversionHistoryStore, currencyRegistry, new ConcurrentMapCacheManager("exchangeRates"),
+                new ConversionAnalytics(currencyRegistry, new SimpleMeterRegistry(), true, 100, 10),
+                new StageTimer(new SimpleMeterRegistry(), true));
         ReflectionTestUtils.setField(exchangeRateService, "baseUrl", "http://api.exchangerate-api.com/v4/latest");
         ReflectionTestUtils.setField(exchangeRateService, "provider", "exchangerate-api");
     }
@@ -80,6 +106,31 @@ public class ExchangeRateServiceTest {
         assertEquals(new BigDecimal("5.0"), resultRates.get("BRL"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getExchangeRates_servesRepeatedCallsFromCache() {
+        Map<String, Object> mockResponseMap = new HashMap<>();
+        mockResponseMap.put("rates", Map.of("BRL", new BigDecimal("5.0")));
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(mockResponseMap, HttpStatus.OK));
+
+        exchangeRateService.getExchangeRates("USD");
+        exchangeRateService.convert("usd", "BRL", BigDecimal.ONE);
+        exchangeRateService.quote("USD", "BRL", BigDecimal.TEN);
+
+        verify(restTemplate, times(1)).exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)
+        );
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void getExchangeRates_currencyNotFound() {
@@ -88,9 +139,56 @@ public class ExchangeRateServiceTest {
                 eq(HttpMethod.GET),
                 isNull(),
                 any(ParameterizedTypeReference.class)
-        )).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        )).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        assertThrows(CurrencyNotFoundException.class, () -> exchangeRateService.getExchangeRates("XAU"));
+    }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getExchangeRates_rejectedCurrencyIsNotFetchedAgain() {
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)
+        )).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        assertThrows(CurrencyNotFoundException.class, () -> exchangeRateService.getExchangeRates("XAU"));
+        assertThrows(CurrencyNotFoundException.class, () -> exchangeRateService.getExchangeRates("XAU"));
+
+        verify(restTemplate, times(1)).exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)
+        );
+    }
+
+    @Test
+    void getExchangeRates_unknownCurrencyDoesNotCallExternalApi() {
         assertThrows(CurrencyNotFoundException.class, () -> exchangeRateService.getExchangeRates("INVALID"));
+        assertThrows(CurrencyNotFoundException.class, () -> exchangeRateService.getExchangeRates("JPY"));
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getExchangeRates_normalizesCurrencyCode() {
+        Map<String, Object> mockResponseMap = new HashMap<>();
+        mockResponseMap.put("rates", Map.of("BRL", new BigDecimal("5.0")));
+
+        when(restTemplate.exchange(
+                eq("http://api.exchangerate-api.com/v4/latest/USD"),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(mockResponseMap, HttpStatus.OK));
+
+        Map<String, BigDecimal> resultRates = exchangeRateService.getExchangeRates(" usd ");
+
+        assertEquals(new BigDecimal("5.0"), resultRates.get("BRL"));
     }
 
     @Test
@@ -127,7 +225,7 @@ public class ExchangeRateServiceTest {
         assertNotNull(response.getTimestamp());
         assertEquals("exchangerate-api", response.getProvider());
 
-        verify(conversionHistoryRepository, times(1)).save(any(ConversionHistory.class));
+        verify(conversionHistoryStore, times(1)).save(any(ConversionHistory.class));
     }
 
     @Test
@@ -142,7 +240,116 @@ public class ExchangeRateServiceTest {
 
         assertThrows(CurrencyNotFoundException.class, () -> spyService.convert("USD", "EUR", amount));
 
-        verify(conversionHistoryRepository, times(0)).save(any(ConversionHistory.class));
+        verify(conversionHistoryStore, times(0)).save(any(ConversionHistory.class));
+    }
+
+    @Test
+    void convert_missingTargetRateIsNotNegativelyCached() {
+        ExchangeRateService spyService = spy(exchangeRateService);
+        doReturn(Map.of("BRL", new BigDecimal("5.0"))).when(spyService).getExchangeRates("USD");
+        doReturn(Map.of("GBP", new BigDecimal("0.8"))).when(spyService).getExchangeRates("EUR");
+
+        assertThrows(CurrencyNotFoundException.class, () -> spyService.convert("USD", "GBP", BigDecimal.ONE));
+
+        // GBP continua válida como destino de outra base e como moeda base
+        assertEquals(new BigDecimal("0.800000"), spyService.convert("EUR", "GBP", BigDecimal.ONE).getConvertedAmount());
+        assertFalse(currencyRegistry.isRejected(currencyRegistry.resolve("GBP")));
+    }
+
+    @Test
+    void convert_rejectedBaseIsStillAcceptedAsTarget() {
+        currencyRegistry.markRejected(currencyRegistry.resolve("XAU"));
+
+        ExchangeRateService spyService = spy(exchangeRateService);
+        doReturn(Map.of("XAU", new BigDecimal("0.0004"))).when(spyService).getExchangeRates("USD");
+
+        assertEquals(new BigDecimal("0.040000"), spyService.convert("USD", "XAU", new BigDecimal("100")).getConvertedAmount());
+        assertThrows(CurrencyNotFoundException.class, () -> spyService.quote("XAU", "USD", BigDecimal.ONE));
+    }
+
+    @Test
+    void quote_doesNotPersistHistory() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        rates.put("BRL", new BigDecimal("5.0"));
+
+        ExchangeRateService spyService = spy(exchangeRateService);
+        doReturn(rates).when(spyService).getExchangeRates("USD");
+
+        ConversionResponse response = spyService.quote("USD", "BRL", BigDecimal.ONE);
+
+        assertEquals(new BigDecimal("5.000000"), response.getConvertedAmount());
+        verifyNoInteractions(conversionHistoryStore);
+    }
+
+    @Test
+    void convert_normalizesCurrencyCodes() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        rates.put("BRL", new BigDecimal("5.0"));
+
+        ExchangeRateService spyService = spy(exchangeRateService);
+        doReturn(rates).when(spyService).getExchangeRates("USD");
+
+        ConversionResponse response = spyService.convert("usd", "brl", BigDecimal.TEN);
+
+        assertEquals("USD", response.getFrom());
+        assertEquals("BRL", response.getTo());
+        assertEquals(new BigDecimal("50.000000"), response.getConvertedAmount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void convertMany_convertsAllTargetsAndPersistsOneBatch() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        rates.put("USD", BigDecimal.ONE);
+        rates.put("BRL", new BigDecimal("5.0"));
+        rates.put("EUR", new BigDecimal("0.9"));
+
+        ExchangeRateService spyService = spy(exchangeRateService);
+        doReturn(rates).when(spyService).getExchangeRates("USD");
+
+        MultiConversionResponse response = spyService.convertMany("usd", List.of("eur", "BRL", "EUR"), new BigDecimal("100"));
+
+        assertEquals("USD", response.getFrom());
+        assertEquals(List.of("EUR", "BRL"), List.copyOf(response.getConversions().keySet()));
+        assertEquals(new BigDecimal("90.000000"), response.getConversions().get("EUR"));
+        assertEquals(new BigDecimal("500.000000"), response.getConversions().get("BRL"));
+        assertEquals(new BigDecimal("5.0"), response.getRates().get("BRL"));
+
+        ArgumentCaptor<List<ConversionHistory>> batch = ArgumentCaptor.forClass(List.class);
+        verify(conversionHistoryStore).saveAll(batch.capture());
+        assertEquals(2, batch.getValue().size());
+        verify(conversionHistoryStore, never()).save(any(ConversionHistory.class));
+    }
+
+    @Test
+    void convertMany_all_usesEveryRegisteredCurrencyWithRate() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        rates.put("USD", BigDecimal.ONE);
+        rates.put("BRL", new BigDecimal("5.0"));
+        rates.put("GBP", new BigDecimal("0.8"));
+        rates.put("JPY", new BigDecimal("150"));
+
+        ExchangeRateService spyService = spy(exchangeRateService);
+        doReturn(rates).when(spyService).getExchangeRates("USD");
+
+        MultiConversionResponse response = spyService.convertMany("USD", List.of("ALL"), BigDecimal.ONE);
+
+        // JPY não está no registro e USD é a própria moeda de origem
+        assertEquals(List.of("BRL", "GBP"), List.copyOf(response.getConversions().keySet()));
+    }
+
+    @Test
+    void convertMany_missingRate_persistsNothing() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        rates.put("BRL", new BigDecimal("5.0"));
+
+        ExchangeRateService spyService = spy(exchangeRateService);
+        doReturn(rates).when(spyService).getExchangeRates("USD");
+
+        assertThrows(CurrencyNotFoundException.class,
+                () -> spyService.convertMany("USD", List.of("BRL", "GBP"), BigDecimal.ONE));
+
+        verifyNoInteractions(conversionHistoryStore);
     }
 
     @Test
@@ -159,7 +366,7 @@ public class ExchangeRateServiceTest {
         );
         Page<ConversionHistory> mockPage = new PageImpl<>(historyList, pageable, historyList.size());
 
-        when(conversionHistoryRepository.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+        when(conversionHistoryStore.findByFromCurrencyAndToCurrencyAndTimestampBetween(
                 eq(fromCurrency),
                 eq(toCurrency),
                 any(LocalDateTime.class),
@@ -178,7 +385,7 @@ public class ExchangeRateServiceTest {
         assertNotNull(resultPage);
         assertEquals(historyList.size(), resultPage.getContent().size());
         assertEquals(historyList.size(), resultPage.getTotalElements());
-        verify(conversionHistoryRepository, times(1)).findByFromCurrencyAndToCurrencyAndTimestampBetween(
+        verify(conversionHistoryStore, times(1)).findByFromCurrencyAndToCurrencyAndTimestampBetween(
                 eq(fromCurrency),
                 eq(toCurrency),
                 any(LocalDateTime.class),
@@ -197,7 +404,7 @@ public class ExchangeRateServiceTest {
 
         Page<ConversionHistory> mockPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-        when(conversionHistoryRepository.findByFromCurrencyAndToCurrencyAndTimestampBetween(
+        when(conversionHistoryStore.findByFromCurrencyAndToCurrencyAndTimestampBetween(
                 eq(fromCurrency),
                 eq(toCurrency),
                 any(LocalDateTime.class),
@@ -216,7 +423,7 @@ public class ExchangeRateServiceTest {
         assertNotNull(resultPage);
         assertTrue(resultPage.getContent().isEmpty());
         assertEquals(0, resultPage.getTotalElements());
-        verify(conversionHistoryRepository, times(1)).findByFromCurrencyAndToCurrencyAndTimestampBetween(
+        verify(conversionHistoryStore, times(1)).findByFromCurrencyAndToCurrencyAndTimestampBetween(
                 eq(fromCurrency),
                 eq(toCurrency),
                 any(LocalDateTime.class),
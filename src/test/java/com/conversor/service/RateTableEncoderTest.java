@@ -0,0 +1,37 @@
+package com.conversor.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateTableEncoderTest {
+    private final RateTableEncoder encoder = new RateTableEncoder(new MappingJackson2CborHttpMessageConverter());
+
+    @Test
+    void encode_reusesBytesForSameSnapshot() throws Exception {
+        Map<String, BigDecimal> rates = Map.of("BRL", new BigDecimal("5.123456789"), "EUR", new BigDecimal("0.92"));
+
+        byte[] first = encoder.encode("usd", rates);
+        byte[] second = encoder.encode("USD", rates);
+
+        assertSame(first, second);
+        // Frações decimais CBOR preservam a escala exata
+        assertEquals(rates, new CBORMapper().readValue(first, new TypeReference<Map<String, BigDecimal>>() {}));
+    }
+
+    @Test
+    void encode_reencodesNewSnapshot() throws Exception {
+        byte[] first = encoder.encode("USD", Map.of("BRL", new BigDecimal("5.0")));
+        byte[] second = encoder.encode("USD", Map.of("BRL", new BigDecimal("5.1")));
+
+        assertNotSame(first, second);
+        assertEquals(new BigDecimal("5.1"),
+                new CBORMapper().readValue(second, new TypeReference<Map<String, BigDecimal>>() {}).get("BRL"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.conversor.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe a aplicação com o aquecimento habilitado e uma API externa simulada que falha nas duas primeiras
+ * chamadas: o aquecimento deve tentar novamente e o readiness só pode ficar UP depois dele.
+ */
+@SpringBootTest(properties = {
+        "startup.warmup.enabled=true",
+        "startup.warmup.base-currencies=USD,BRL",
+        "startup.warmup.iterations=50",
+        "startup.warmup.retry-interval=10",
+        "startup.warmup.timeout=5000",
+        "management.endpoint.health.probes.enabled=true"
+})
+public class StartupWarmupIntegrationTest {
+    private static final AtomicInteger UPSTREAM_CALLS = new AtomicInteger();
+    private static final List<Status> READINESS_DURING_WARMUP = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class StubUpstreamConfig {
+        @Bean
+        @Primary
+        RestTemplate stubUpstreamRestTemplate(ReadinessStateHealthIndicator readinessIndicator) {
+            return new RestTemplate() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity,
+                                                      ParameterizedTypeReference<T> responseType, Object... uriVariables) {
+                    READINESS_DURING_WARMUP.add(readinessIndicator.getHealth(false).getStatus());
+                    if (UPSTREAM_CALLS.incrementAndGet() <= 2) {
+                        throw new ResourceAccessException("API externa indisponível");
+                    }
+                    Map<String, Object> body = Map.of("rates", Map.of("USD", 1, "BRL", 5.0, "EUR", 0.9));
+                    return (ResponseEntity<T>) ResponseEntity.ok(body);
+                }
+            };
+        }
+    }
+
+    @Test
+    void warmup_retriesUpstreamAndGatesReadiness() {
+        // USD: 2 falhas + 1 sucesso; BRL: 1 sucesso
+        assertEquals(4, UPSTREAM_CALLS.get());
+        assertFalse(READINESS_DURING_WARMUP.isEmpty());
+        assertTrue(READINESS_DURING_WARMUP.stream().allMatch(Status.OUT_OF_SERVICE::equals),
+                "readiness durante o aquecimento: " + READINESS_DURING_WARMUP);
+
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+        assertEquals(1, meterRegistry.get("application.warmup").timer().count());
+        // As conversões sintéticas não podem distorcer os percentis das etapas
+        assertTrue(meterRegistry.get("conversion.stage").timers().stream().allMatch(timer -> timer.count() == 0));
+        assertTrue(meterRegistry.get("application.time-to-ready").timeGauge().value(TimeUnit.MILLISECONDS) > 0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.conversor.service;
+
+import com.conversor.exception.ExternalApiException;
+import com.conversor.timing.StageTimer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupWarmupTest {
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    @Mock
+    private CurrencyRegistry currencyRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StartupWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        warmup = new StartupWarmup(exchangeRateService, currencyRegistry, new ObjectMapper(), meterRegistry,
+                new StageTimer(meterRegistry, true));
+        ReflectionTestUtils.setField(warmup, "enabled", true);
+        ReflectionTestUtils.setField(warmup, "baseCurrencies", List.of("USD"));
+        ReflectionTestUtils.setField(warmup, "iterations", 10);
+        ReflectionTestUtils.setField(warmup, "timeout", 200L);
+        ReflectionTestUtils.setField(warmup, "retryInterval", 20L);
+        warmup.registerMetrics();
+    }
+
+    @Test
+    void run_upstreamDown_retriesUntilTimeoutThenFailsOpen() {
+        when(exchangeRateService.getExchangeRates("USD")).thenThrow(new ExternalApiException("fora do ar"));
+
+        long start = System.nanoTime();
+        warmup.run(null);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 2000, "o aquecimento deve respeitar startup.warmup.timeout: " + elapsedMillis + " ms");
+        verify(exchangeRateService, atLeast(2)).getExchangeRates("USD");
+        verify(exchangeRateService, never()).quote(any(), any(), any());
+        assertEquals(1, meterRegistry.get("application.warmup").timer().count());
+    }
+
+    @Test
+    void run_disabled_doesNothing() {
+        ReflectionTestUtils.setField(warmup, "enabled", false);
+
+        warmup.run(null);
+
+        verifyNoInteractions(exchangeRateService);
+    }
+
+    @Test
+    void onReadinessChange_setsTimeToReadyOnce() {
+        double before = meterRegistry.get("application.time-to-ready").timeGauge().value(TimeUnit.MILLISECONDS);
+        assertTrue(Double.isNaN(before));
+
+        warmup.onReadinessChange(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        double ready = meterRegistry.get("application.time-to-ready").timeGauge().value(TimeUnit.MILLISECONDS);
+        warmup.onReadinessChange(new AvailabilityChangeEvent<>(this, ReadinessState.REFUSING_TRAFFIC));
+        warmup.onReadinessChange(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+
+        assertTrue(ready > 0);
+        assertEquals(ready, meterRegistry.get("application.time-to-ready").timeGauge().value(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,76 @@
+package com.conversor.timing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StageTimerTest {
+
+    @Test
+    void stop_recordsTimerAndRequestTimings() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StageTimer stageTimer = new StageTimer(meterRegistry, true);
+
+        stageTimer.begin();
+        stageTimer.stop(Stage.CACHE_MISS, stageTimer.start());
+        stageTimer.stop(Stage.UPSTREAM, stageTimer.start());
+        stageTimer.stop(Stage.PERSIST, stageTimer.start());
+        RequestTimings timings = stageTimer.end();
+
+        String serverTiming = timings.toServerTiming();
+        assertTrue(serverTiming.startsWith("cache;desc=\"miss\";dur="), serverTiming);
+        assertTrue(serverTiming.contains(", upstream;dur="), serverTiming);
+        assertTrue(serverTiming.contains(", persist;dur="), serverTiming);
+        assertTrue(serverTiming.contains(", total;dur="), serverTiming);
+        assertFalse(serverTiming.contains("compute"), serverTiming);
+        assertTrue(timings.describe().startsWith("cache-miss="), timings.describe());
+
+        assertEquals(1, meterRegistry.get("conversion.stage").tag("stage", "cache").tag("outcome", "miss").timer().count());
+        assertEquals(1, meterRegistry.get("conversion.stage").tag("stage", "upstream").timer().count());
+        assertNull(stageTimer.current());
+    }
+
+    @Test
+    void stop_outsideRequestOnlyRecordsTimer() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StageTimer stageTimer = new StageTimer(meterRegistry, true);
+
+        stageTimer.stop(Stage.COMPUTE, stageTimer.start());
+
+        assertNull(stageTimer.end());
+        assertEquals(1, meterRegistry.get("conversion.stage").tag("stage", "compute").timer().count());
+    }
+
+    @Test
+    void untimed_skipsTimersAndRestoresRequest() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StageTimer stageTimer = new StageTimer(meterRegistry, true);
+
+        stageTimer.begin();
+        RequestTimings request = stageTimer.current();
+        int result = stageTimer.untimed(() -> {
+            assertNull(stageTimer.current());
+            stageTimer.stop(Stage.COMPUTE, stageTimer.start());
+            return 42;
+        });
+        stageTimer.stop(Stage.PERSIST, stageTimer.start());
+
+        assertEquals(42, result);
+        assertSame(request, stageTimer.end());
+        assertEquals(0, meterRegistry.get("conversion.stage").tag("stage", "compute").timer().count());
+        assertEquals(1, meterRegistry.get("conversion.stage").tag("stage", "persist").timer().count());
+        assertFalse(request.toServerTiming().contains("compute"));
+    }
+
+    @Test
+    void disabled_registersAndRecordsNothing() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StageTimer stageTimer = new StageTimer(meterRegistry, false);
+
+        assertEquals(0L, stageTimer.start());
+        stageTimer.stop(Stage.COMPUTE, 0L);
+
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+}